@@ -0,0 +1,29 @@
+-- One-time migration: fold duplicate team pairs onto their oldest row so that
+-- schema.sql can create uq_teams_pair. Run once against an existing database before
+-- starting a release that includes the constraint:
+--   psql "$DATABASE_URL" -f db/migrations/001_dedupe_team_pairs.sql
+-- Running it again is harmless: without duplicates every statement touches no rows.
+
+BEGIN;
+
+-- Keep concurrent writers from adding a duplicate between the fold and the index
+LOCK TABLE teams IN SHARE ROW EXCLUSIVE MODE;
+
+WITH dup AS (
+    SELECT id, MIN(id) OVER (PARTITION BY LEAST(user_id1, user_id2), GREATEST(user_id1, user_id2)) AS keep_id FROM teams
+)
+UPDATE tasks SET team_id = dup.keep_id FROM dup WHERE tasks.team_id = dup.id AND dup.id <> dup.keep_id;
+
+WITH dup AS (
+    SELECT id, MIN(id) OVER (PARTITION BY LEAST(user_id1, user_id2), GREATEST(user_id1, user_id2)) AS keep_id FROM teams
+)
+UPDATE projects SET team_id = dup.keep_id FROM dup WHERE projects.team_id = dup.id AND dup.id <> dup.keep_id;
+
+DELETE FROM teams t USING teams keep
+WHERE LEAST(t.user_id1, t.user_id2) = LEAST(keep.user_id1, keep.user_id2)
+  AND GREATEST(t.user_id1, t.user_id2) = GREATEST(keep.user_id1, keep.user_id2)
+  AND t.id > keep.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_teams_pair ON teams (LEAST(user_id1, user_id2), GREATEST(user_id1, user_id2));
+
+COMMIT;
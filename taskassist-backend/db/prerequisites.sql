@@ -0,0 +1,7 @@
+-- Run once per database by a role allowed to create extensions (superuser or, from
+-- PostgreSQL 13, the database owner), before the application's first start:
+--   psql "$DATABASE_URL" -U <admin role> -f db/prerequisites.sql
+-- The application role only needs to own its tables; schema.sql no longer creates extensions.
+
+-- User search: trigram indexes and similarity() ranking
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -1,23 +1,31 @@
 package com.taskassist.config;
 
 import com.taskassist.repository.UserRepository;
+import com.taskassist.model.User;
+import com.taskassist.security.BoundedPasswordEncoder;
+import com.taskassist.security.PasswordEncoderFactory;
+import com.taskassist.security.PasswordHashingExecutor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
+@EnableScheduling
 @RequiredArgsConstructor
 public class ApplicationConfig {
 
     private final UserRepository userRepository;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final PasswordEncoderFactory passwordEncoderFactory;
 
     @Bean
     public UserDetailsService userDetailsService() {
@@ -30,16 +38,29 @@ public class ApplicationConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Outdated hashes (other algorithm, lower cost, legacy format) are replaced after a successful login
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
         return authProvider;
     }
 
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (userDetails, newPassword) -> {
+            User user = (User) userDetails;
+            userRepository.updatePassword(user.getId(), newPassword);
+            user.setPassword(newPassword);
+            return user;
+        };
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
     }
 
+    // Hashing and verification run on the bounded PasswordHashingExecutor, never on request threads
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(passwordEncoderFactory.create(), passwordHashingExecutor);
     }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.taskassist.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+@Slf4j
+@Configuration
+public class DatabaseConfig {
+
+    // Static so the post-processor is registered without initialising this configuration early
+    @Bean
+    public static BeanPostProcessor databaseBulkheadPostProcessor() {
+        return new BulkheadPostProcessor();
+    }
+
+    // Puts a BulkheadDataSource in front of the pool, sized to the pool unless permits is set
+    static class BulkheadPostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+        private Environment environment;
+
+        @Override
+        public void setEnvironment(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource
+                    || !environment.getProperty("application.datasource.bulkhead.enabled", Boolean.class, true)) {
+                return bean;
+            }
+            int permits = environment.getProperty("application.datasource.bulkhead.permits", Integer.class, 0);
+            if (permits <= 0) {
+                // Hikari reports -1 until the pool starts when maximum-pool-size is unset; its default is 10
+                int poolSize = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : -1;
+                permits = poolSize > 0 ? poolSize : 10;
+            }
+            long maxWait = environment.getProperty("application.datasource.bulkhead.max-wait", Long.class, 5000L);
+            log.info("Database bulkhead on '{}': {} concurrent connections, {}ms max wait", beanName, permits, maxWait);
+            return new BulkheadDataSource(dataSource, permits, maxWait);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.taskassist.config;
+
+import com.taskassist.security.AuthRateLimitFilter;
+import com.taskassist.security.PasswordHashingExecutor;
+import com.taskassist.security.TokenBucketLimiter;
+import com.taskassist.security.TokenPrincipalCache;
+import com.taskassist.service.AccessibleProjectsCache;
+import com.taskassist.service.TaskEventStream;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * Application meters on top of what actuator already records: http.server.requests per
+ * endpoint, spring.data.repository.invocations per repository method, Hikari pool gauges
+ * and Hibernate statistics. Everything is scraped from /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Static so repositories are not created before the post-processor is registered
+    @Bean
+    public static BeanPostProcessor repositoryRowsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        return new RepositoryRowsPostProcessor(registry);
+    }
+
+    @Bean
+    public MeterBinder cacheMetrics(TokenPrincipalCache tokenPrincipalCache, AccessibleProjectsCache accessibleProjectsCache) {
+        return registry -> {
+            bindCache(registry, "token-principal", tokenPrincipalCache,
+                    TokenPrincipalCache::getHits, TokenPrincipalCache::getMisses,
+                    TokenPrincipalCache::getEvictions, TokenPrincipalCache::size);
+            bindCache(registry, "accessible-projects", accessibleProjectsCache,
+                    AccessibleProjectsCache::getHits, AccessibleProjectsCache::getMisses,
+                    AccessibleProjectsCache::getEvictions, AccessibleProjectsCache::size);
+        };
+    }
+
+    @Bean
+    public MeterBinder authMetrics(PasswordHashingExecutor passwordHashing, AuthRateLimitFilter rateLimitFilter) {
+        return registry -> {
+            Gauge.builder("taskassist.password.hashing.active", passwordHashing, PasswordHashingExecutor::getActive)
+                    .register(registry);
+            Gauge.builder("taskassist.password.hashing.queued", passwordHashing, PasswordHashingExecutor::getQueued)
+                    .register(registry);
+            FunctionCounter.builder("taskassist.password.hashing.rejected", passwordHashing, PasswordHashingExecutor::getRejected)
+                    .register(registry);
+            bindLimiter(registry, "ip", rateLimitFilter.getIpLimiter());
+            bindLimiter(registry, "username", rateLimitFilter.getUsernameLimiter());
+        };
+    }
+
+    @Bean
+    public MeterBinder databaseBulkheadMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof BulkheadDataSource bulkhead) {
+                Gauge.builder("taskassist.db.bulkhead.active", bulkhead, BulkheadDataSource::getActive).register(registry);
+                Gauge.builder("taskassist.db.bulkhead.waiting", bulkhead, BulkheadDataSource::getWaiting).register(registry);
+                Gauge.builder("taskassist.db.bulkhead.max", bulkhead, BulkheadDataSource::getMaxConcurrent).register(registry);
+                FunctionCounter.builder("taskassist.db.bulkhead.rejected", bulkhead, BulkheadDataSource::getRejected)
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder taskStreamMetrics(TaskEventStream taskEventStream) {
+        return registry -> Gauge.builder("taskassist.tasks.stream.subscribers", taskEventStream, TaskEventStream::subscriberCount)
+                .register(registry);
+    }
+
+    private static <T> void bindCache(MeterRegistry registry, String name, T cache, ToDoubleFunction<T> hits,
+                                      ToDoubleFunction<T> misses, ToDoubleFunction<T> evictions, ToDoubleFunction<T> size) {
+        FunctionCounter.builder("taskassist.cache.gets", cache, hits).tags("cache", name, "result", "hit").register(registry);
+        FunctionCounter.builder("taskassist.cache.gets", cache, misses).tags("cache", name, "result", "miss").register(registry);
+        FunctionCounter.builder("taskassist.cache.evictions", cache, evictions).tag("cache", name).register(registry);
+        Gauge.builder("taskassist.cache.size", cache, size).tag("cache", name).register(registry);
+    }
+
+    private static void bindLimiter(MeterRegistry registry, String key, TokenBucketLimiter limiter) {
+        FunctionCounter.builder("taskassist.auth.rate_limit", limiter, TokenBucketLimiter::getAllowed)
+                .tags("key", key, "result", "allowed").register(registry);
+        FunctionCounter.builder("taskassist.auth.rate_limit", limiter, TokenBucketLimiter::getRejected)
+                .tags("key", key, "result", "rejected").register(registry);
+        FunctionCounter.builder("taskassist.auth.rate_limit.evictions", limiter, TokenBucketLimiter::getEvictions)
+                .tag("key", key).register(registry);
+        Gauge.builder("taskassist.auth.rate_limit.keys", limiter, TokenBucketLimiter::size).tag("key", key).register(registry);
+    }
+
+    /**
+     * Adds spring.data.repository.rows (rows returned, or affected for @Modifying queries) next
+     * to Spring Boot's per-method invocation timer. Streams are counted as they are consumed
+     * and recorded when closed.
+     */
+    static class RepositoryRowsPostProcessor implements BeanPostProcessor {
+
+        private final ObjectProvider<MeterRegistry> registry;
+
+        RepositoryRowsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+            this.registry = registry;
+        }
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) {
+            if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                        (proxyFactory, repository) -> proxyFactory.addAdvice(
+                                new RowsInterceptor(registry, repository.getRepositoryInterface().getSimpleName()))));
+            }
+            return bean;
+        }
+    }
+
+    static class RowsInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<MeterRegistry> registry;
+        private final String repository;
+        private final Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+        RowsInterceptor(ObjectProvider<MeterRegistry> registry, String repository) {
+            this.registry = registry;
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Object result = invocation.proceed();
+            Method method = invocation.getMethod();
+            if (result instanceof Stream<?> stream) {
+                LongAdder rows = new LongAdder();
+                return stream.peek(row -> rows.increment()).onClose(() -> record(method, rows.sum()));
+            }
+            long rows = rows(method, result);
+            if (rows >= 0) {
+                record(method, rows);
+            }
+            return result;
+        }
+
+        // -1 when the result is not a row count (counts, exists, void)
+        private static long rows(Method method, Object result) {
+            if (result instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            if (result instanceof Slice<?> slice) {
+                return slice.getNumberOfElements();
+            }
+            if (result instanceof Optional<?> optional) {
+                return optional.isPresent() ? 1 : 0;
+            }
+            if (result instanceof Number number) {
+                return method.isAnnotationPresent(Modifying.class) ? number.longValue() : -1;
+            }
+            if (result == null) {
+                return method.getReturnType() == void.class ? -1 : 0;
+            }
+            return result instanceof Boolean || result instanceof Iterable<?> ? -1 : 1;
+        }
+
+        private void record(Method method, long rows) {
+            MeterRegistry meterRegistry = registry.getIfAvailable();
+            if (meterRegistry == null) {
+                return;
+            }
+            summaries.computeIfAbsent(method, m -> DistributionSummary.builder("spring.data.repository.rows")
+                    .tags("repository", repository, "method", m.getName())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry))
+                    .record(rows);
+        }
+    }
+}
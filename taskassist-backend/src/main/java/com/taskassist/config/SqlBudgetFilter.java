@@ -0,0 +1,97 @@
+package com.taskassist.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+// Outermost filter, so statements issued by the security chain (JWT principal loads) count too
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    public static final String SQL_COUNT_HEADER = "X-SQL-Count";
+
+    private final SqlStatementCounter counter;
+
+    // Dev aid: report the request's statement count in a response header
+    @Value("${application.sql.budget.header:false}")
+    private boolean header;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !counter.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        counter.begin();
+        HttpServletResponse target = header ? new CountingResponse(response, counter) : response;
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            SqlStatementCounter.Stats stats = counter.end();
+            if (header && !response.isCommitted()) {
+                response.setIntHeader(SQL_COUNT_HEADER, stats.count());
+            }
+            if (counter.overBudget(stats)) {
+                log.warn("{} {} issued {} SQL statements; most repeated ({}x): {}", request.getMethod(),
+                        request.getRequestURI(), stats.count(), stats.mostRepeated(), stats.mostRepeatedShape());
+            }
+        }
+    }
+
+    // Headers must be set before the body starts, so stamp the count when it is first requested
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+        private final SqlStatementCounter counter;
+
+        CountingResponse(HttpServletResponse response, SqlStatementCounter counter) {
+            super(response);
+            this.counter = counter;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            stamp();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            stamp();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            stamp();
+            super.flushBuffer();
+        }
+
+        private void stamp() {
+            int count = counter.count();
+            if (count >= 0 && !isCommitted()) {
+                setIntHeader(SQL_COUNT_HEADER, count);
+            }
+        }
+    }
+}
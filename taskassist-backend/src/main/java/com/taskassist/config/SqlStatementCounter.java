@@ -0,0 +1,140 @@
+package com.taskassist.config;
+
+import com.taskassist.exception.SqlBudgetExceededException;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between begin() and
+ * end() (one HTTP request, see SqlBudgetFilter), grouped by statement shape: the SQL with
+ * literals and IN-list lengths folded, so "select ... where id=?" run once per row of a
+ * list is recognised as an N+1. In "fail" mode the statement that goes over the budget is
+ * refused, which surfaces the regression in tests and dev instead of in production latency.
+ * Hibernate inspects every row of a JDBC batch, so a run of identical inserts/updates/deletes
+ * counts once per hibernate.jdbc.batch_size rows, matching the round trips actually made.
+ * JdbcTemplate statements (imports, last-login flush) do not pass through Hibernate and are
+ * not counted, nor are statements a StreamingResponseBody issues on its async thread.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    public static final String OFF = "off";
+    public static final String LOG = "log";
+    public static final String FAIL = "fail";
+
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern DML = Pattern.compile("^\\s*(insert|update|delete)\\b", Pattern.CASE_INSENSITIVE);
+
+    private final ThreadLocal<Stats> current = new ThreadLocal<>();
+
+    @Value("${application.sql.budget.mode:log}")
+    private String mode;
+
+    @Value("${application.sql.budget.max-statements:50}")
+    private int maxStatements;
+
+    @Value("${application.sql.budget.max-repeats:20}")
+    private int maxRepeats;
+
+    private int batchSize = 1;
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+        Object configured = hibernateProperties.get(AvailableSettings.STATEMENT_BATCH_SIZE);
+        if (configured != null) {
+            batchSize = Math.max(1, Integer.parseInt(configured.toString().trim()));
+        }
+    }
+
+    public boolean isEnabled() {
+        return !OFF.equalsIgnoreCase(mode);
+    }
+
+    public void begin() {
+        current.set(new Stats());
+    }
+
+    // Statements counted so far on this thread, or -1 outside a request
+    public int count() {
+        Stats stats = current.get();
+        return stats == null ? -1 : stats.count;
+    }
+
+    public Stats end() {
+        Stats stats = current.get();
+        current.remove();
+        return stats;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Stats stats = current.get();
+        if (stats == null) {
+            return sql;
+        }
+        // Same DML as the previous statement and the batch is not full: it rides along in the batch
+        if (sql.equals(stats.batchSql) && stats.batchRows++ % batchSize != 0) {
+            return sql;
+        }
+        if (!sql.equals(stats.batchSql)) {
+            stats.batchSql = batchSize > 1 && DML.matcher(sql).find() ? sql : null;
+            stats.batchRows = 1;
+        }
+        stats.count++;
+        int repeats = stats.shapes.merge(shape(sql), 1, Integer::sum);
+        if (FAIL.equalsIgnoreCase(mode)) {
+            if (stats.count > maxStatements) {
+                throw new SqlBudgetExceededException("Request exceeded the SQL budget of " + maxStatements
+                        + " statements at: " + sql);
+            }
+            if (repeats > maxRepeats) {
+                throw new SqlBudgetExceededException("Same statement issued " + repeats
+                        + " times in one request (N+1?): " + sql);
+            }
+        }
+        return sql;
+    }
+
+    // Whether a finished request went over either limit; used by the filter in "log" mode
+    public boolean overBudget(Stats stats) {
+        return stats.count > maxStatements || stats.mostRepeated() > maxRepeats;
+    }
+
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return IN_LIST.matcher(shape).replaceAll("(?)");
+    }
+
+    public static final class Stats {
+        private int count;
+        private final Map<String, Integer> shapes = new HashMap<>();
+        private String batchSql;
+        private int batchRows;
+
+        public int count() {
+            return count;
+        }
+
+        public int mostRepeated() {
+            return shapes.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        }
+
+        public String mostRepeatedShape() {
+            return shapes.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+        }
+    }
+}
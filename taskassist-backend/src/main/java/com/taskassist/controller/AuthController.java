@@ -2,8 +2,11 @@ package com.taskassist.controller;
 
 import com.taskassist.dto.LoginRequest;
 import com.taskassist.dto.RegisterRequest;
+import com.taskassist.exception.TooManyRequestsException;
 import com.taskassist.model.User;
+import com.taskassist.security.ClaimsPrincipal;
 import com.taskassist.security.JwtService;
+import com.taskassist.security.TokenRevocationService;
 import com.taskassist.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +27,7 @@ public class AuthController {
     private final UserService userService;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final TokenRevocationService tokenRevocationService;
 
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest registerRequest) {
@@ -45,7 +49,7 @@ public class AuthController {
         User user = userService.createUser(userToCreate);
 
         // Generate JWT token with Express.js compatible format (using ID claim)
-        String token = jwtService.generateTokenFromUserId(user.getId());
+        String token = jwtService.generateTokenForUser(user);
 
         // Create response matching Express.js format
         Map<String, Object> response = new HashMap<>();
@@ -81,7 +85,7 @@ public class AuthController {
             userService.updateLastLogin(user.getId());
 
             // Generate JWT token with Express.js compatible format (using ID claim)
-            String token = jwtService.generateTokenFromUserId(user.getId());
+            String token = jwtService.generateTokenForUser(user);
 
             // Create response matching Express.js format
             Map<String, Object> response = new HashMap<>();
@@ -101,14 +105,38 @@ public class AuthController {
             response.put("token", token);
 
             return ResponseEntity.ok(response);
+        } catch (TooManyRequestsException e) {
+            // Saturated hashing pool: the credentials were never checked, so don't report them as wrong
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("message", "Invalid username or password"));
         }
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Missing bearer token"));
+        }
+        String token = authHeader.substring(7);
+        try {
+            tokenRevocationService.revoke(token, jwtService.extractAllClaims(token));
+        } catch (Exception e) {
+            // Invalid or expired tokens are already unusable
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/me")
     public Map<String, Object> me(Authentication auth) {
-        User user = (User) auth.getPrincipal();
+        User user;
+        if (auth.getPrincipal() instanceof ClaimsPrincipal principal) {
+            // Claims-only mode keeps no entity around, so load the full profile for this endpoint
+            user = userService.getUserById(principal.id())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+        } else {
+            user = (User) auth.getPrincipal();
+        }
         return Map.of(
                 "id", user.getId(),
                 "username", user.getUsername(),
@@ -0,0 +1,30 @@
+package com.taskassist.controller;
+
+// Entity-tag helpers for optimistic concurrency on PATCH endpoints; the tag is the row's @Version
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + (version == null ? 0 : version) + "\"";
+    }
+
+    // Returns the version named by an If-Match header, or null when any version is acceptable
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            // An unparseable tag can never match a current version
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.taskassist.controller;
+
+import com.taskassist.service.TaskExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+// Request plumbing shared by the streamed import endpoints
+final class Imports {
+
+    private Imports() {
+    }
+
+    // Raw request body, transparently gunzipped when sent with Content-Encoding: gzip
+    static InputStream body(HttpServletRequest request) throws IOException {
+        InputStream in = request.getInputStream();
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        return encoding != null && encoding.toLowerCase().contains("gzip") ? new GZIPInputStream(in, 64 * 1024) : in;
+    }
+
+    static InputStream body(MultipartFile file) throws IOException {
+        InputStream in = file.getInputStream();
+        String name = file.getOriginalFilename();
+        return name != null && name.toLowerCase().endsWith(".gz") ? new GZIPInputStream(in, 64 * 1024) : in;
+    }
+
+    // An explicit ?format= wins; otherwise NDJSON content types (or file names) select NDJSON and anything else is CSV
+    static String format(String format, String contentType, String fileName) {
+        if (format != null) {
+            return TaskExportService.checkFormat(format);
+        }
+        if (contentType != null && (contentType.contains("ndjson") || contentType.contains(MediaType.APPLICATION_JSON_VALUE))) {
+            return TaskExportService.NDJSON;
+        }
+        if (fileName != null && (fileName.toLowerCase().contains(".ndjson") || fileName.toLowerCase().contains(".jsonl"))) {
+            return TaskExportService.NDJSON;
+        }
+        return TaskExportService.CSV;
+    }
+}
@@ -1,12 +1,20 @@
 package com.taskassist.controller;
 
+import com.taskassist.dto.ImportResult;
+import com.taskassist.dto.ProjectView;
 import com.taskassist.model.Project;
 import com.taskassist.service.ProjectService;
+import com.taskassist.service.TaskImportService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -15,42 +23,47 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final TaskImportService taskImportService;
 
     @GetMapping
-    public ResponseEntity<List<Project>> getAllProjects() {
-        List<Project> projects = projectService.getAllProjects();
+    public ResponseEntity<List<ProjectView>> getAllProjects() {
+        List<ProjectView> projects = projectService.getAllProjects();
         return ResponseEntity.ok(projects);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getProjectById(@PathVariable Integer id) {
         return projectService.getProjectById(id)
-                .map(ResponseEntity::ok)
+                .map(project -> ResponseEntity.ok().eTag(ETags.of(project.version())).body(project))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Project>> getProjectsByUserId(@PathVariable Integer userId) {
-        List<Project> projects = projectService.getProjectsByUserId(userId);
+    public ResponseEntity<List<ProjectView>> getProjectsByUserId(@PathVariable Integer userId) {
+        List<ProjectView> projects = projectService.getProjectsByUserId(userId);
         return ResponseEntity.ok(projects);
     }
 
     @GetMapping("/accessible/{userId}")
-    public ResponseEntity<List<Project>> getAccessibleProjects(@PathVariable Integer userId) {
-        List<Project> projects = projectService.getProjectsByUserIdOrTeamMember(userId);
+    public ResponseEntity<List<ProjectView>> getAccessibleProjects(@PathVariable Integer userId) {
+        List<ProjectView> projects = projectService.getProjectsByUserIdOrTeamMember(userId);
         return ResponseEntity.ok(projects);
     }
 
     @PostMapping
-    public ResponseEntity<Project> createProject(@RequestBody Project project) {
+    public ResponseEntity<ProjectView> createProject(@RequestBody Project project) {
         Project createdProject = projectService.createProject(project);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdProject);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ProjectView.from(createdProject));
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<?> updateProject(@PathVariable Integer id, @RequestBody Project projectDetails) {
-        return projectService.updateProject(id, projectDetails)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<?> updateProject(
+            @PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody Project projectDetails) {
+        return projectService.updateProject(id, projectDetails, ETags.parseIfMatch(ifMatch))
+                .map(ProjectView::from)
+                .map(project -> ResponseEntity.ok().eTag(ETags.of(project.version())).body(project))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -62,4 +75,21 @@ public class ProjectController {
         }
         return ResponseEntity.notFound().build();
     }
-}
\ No newline at end of file
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson", MediaType.APPLICATION_JSON_VALUE,
+            MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ImportResult> importProjects(
+            @RequestParam(required = false) String format,
+            HttpServletRequest request) throws IOException {
+        String importFormat = Imports.format(format, request.getContentType(), null);
+        return ResponseEntity.ok(taskImportService.importProjects(Imports.body(request), importFormat));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportResult> importProjectsFile(
+            @RequestParam(required = false) String format,
+            @RequestParam("file") MultipartFile file) throws IOException {
+        String importFormat = Imports.format(format, file.getContentType(), file.getOriginalFilename());
+        return ResponseEntity.ok(taskImportService.importProjects(Imports.body(file), importFormat));
+    }
+}
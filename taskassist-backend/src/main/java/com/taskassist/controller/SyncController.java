@@ -0,0 +1,33 @@
+package com.taskassist.controller;
+
+import com.taskassist.dto.SyncResponse;
+import com.taskassist.security.Principals;
+import com.taskassist.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SyncController {
+
+    private final SyncService syncService;
+
+    // Tasks and projects created, updated or deleted since the cursor from the previous call
+    @GetMapping
+    public ResponseEntity<?> sync(@RequestParam(required = false) String since, Authentication authentication) {
+        Integer userId = Principals.userId(authentication);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Not authenticated"));
+        }
+        return ResponseEntity.ok(syncService.changesSince(userId, since));
+    }
+}
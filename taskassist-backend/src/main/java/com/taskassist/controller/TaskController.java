@@ -1,82 +1,253 @@
 package com.taskassist.controller;
 
+import com.taskassist.dto.BulkItemResult;
+import com.taskassist.dto.BulkTaskIdsRequest;
+import com.taskassist.dto.CalendarDay;
+import com.taskassist.dto.ImportResult;
+import com.taskassist.dto.TaskRequest;
+import com.taskassist.dto.TaskView;
 import com.taskassist.model.Task;
+import com.taskassist.security.Principals;
+import com.taskassist.service.TaskBulkService;
+import com.taskassist.service.TaskCalendarService;
+import com.taskassist.service.TaskEventStream;
+import com.taskassist.service.TaskExportService;
+import com.taskassist.service.TaskImportService;
 import com.taskassist.service.TaskService;
+import com.taskassist.service.TeamService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/tasks")
 @RequiredArgsConstructor
 public class TaskController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-After";
+
     private final TaskService taskService;
+    private final TaskBulkService taskBulkService;
+    private final TaskCalendarService taskCalendarService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
+    private final TaskEventStream taskEventStream;
+    private final TeamService teamService;
 
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks(
+    public ResponseEntity<List<?>> getAllTasks(
             @RequestParam(required = false) String filter,
             @RequestParam(required = false) Integer userId,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Set<String> expand,
             Authentication authentication) {
         
         // If userId is provided, filter tasks by user
         if (userId != null) {
-            List<Task> userTasks = taskService.getTasksByUserId(userId, filter);
-            return ResponseEntity.ok(userTasks);
+            List<TaskView> userTasks = taskService.getTasksByUserId(userId, filter, after, limit);
+            return page(userTasks, limit, expand);
         }
         
         // Otherwise, return all tasks with optional filter
-        List<Task> tasks = taskService.getTasksByFilter(filter);
-        return ResponseEntity.ok(tasks);
+        List<TaskView> tasks = taskService.getTasksByFilter(filter, after, limit);
+        return page(tasks, limit, expand);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getTaskById(@PathVariable Integer id) {
         return taskService.getTaskById(id)
-                .map(ResponseEntity::ok)
+                .map(task -> ResponseEntity.ok().eTag(ETags.of(task.version())).body(task))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Task>> getTasksByUserId(
+    public ResponseEntity<List<?>> getTasksByUserId(
             @PathVariable Integer userId,
-            @RequestParam(required = false) String filter) {
-        List<Task> tasks = taskService.getTasksByUserId(userId, filter);
-        return ResponseEntity.ok(tasks);
+            @RequestParam(required = false) String filter,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Set<String> expand) {
+        List<TaskView> tasks = taskService.getTasksByUserId(userId, filter, after, limit);
+        return page(tasks, limit, expand);
     }
 
     @GetMapping("/assigned/{userId}")
-    public ResponseEntity<List<Task>> getTasksAssignedToUser(
+    public ResponseEntity<List<?>> getTasksAssignedToUser(
             @PathVariable Integer userId,
-            @RequestParam(required = false) String filter) {
-        List<Task> tasks = taskService.getTasksAssignedToUser(userId, filter);
-        return ResponseEntity.ok(tasks);
+            @RequestParam(required = false) String filter,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Set<String> expand) {
+        List<TaskView> tasks = taskService.getTasksAssignedToUser(userId, filter, after, limit);
+        return page(tasks, limit, expand);
     }
 
     @GetMapping("/summary")
-    public ResponseEntity<Map<String, Long>> getTaskSummary() {
-        Map<String, Long> summary = taskService.getTaskSummary();
+    public ResponseEntity<Map<String, Long>> getTaskSummary(
+            @RequestParam(required = false) Integer userId,
+            @RequestParam(required = false) Integer projectId,
+            @RequestParam(required = false) Integer teamId) {
+        Map<String, Long> summary = taskService.getTaskSummary(userId, projectId, teamId);
         return ResponseEntity.ok(summary);
     }
 
+    // Tasks due in [from, to] bucketed per day; defaults to the current user's tasks
+    @GetMapping("/calendar")
+    public ResponseEntity<List<CalendarDay>> getCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer userId,
+            Authentication authentication) {
+        Integer calendarUserId = userId != null ? userId : Principals.userId(authentication);
+        return ResponseEntity.ok(taskCalendarService.getCalendar(calendarUserId, from, to));
+    }
+
+    @GetMapping(value = "/calendar.ics", produces = "text/calendar")
+    public ResponseEntity<StreamingResponseBody> exportCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer userId,
+            Authentication authentication) {
+        Integer calendarUserId = userId != null ? userId : Principals.userId(authentication);
+        taskCalendarService.checkIcsAccess(calendarUserId, from, to);
+        StreamingResponseBody body = out -> taskCalendarService.writeIcs(calendarUserId, from, to, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/calendar;charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.ics\"")
+                .body(body);
+    }
+
+    // Streams a team's tasks (or the caller's own) as CSV or NDJSON, gzipped when the client accepts it
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) Integer teamId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            Authentication authentication) {
+        String exportFormat = TaskExportService.checkFormat(format);
+        Integer userId = Principals.userId(authentication);
+        if (teamId != null && !teamService.isTeamMember(teamId, userId)) {
+            throw new AccessDeniedException("Not a member of team " + teamId);
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+            if (teamId != null) {
+                taskExportService.exportTeamTasks(teamId, exportFormat, target);
+            } else {
+                taskExportService.exportUserTasks(userId, exportFormat, target);
+            }
+            if (target instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+        };
+
+        String fileName = "tasks." + exportFormat;
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(TaskExportService.CSV.equals(exportFormat)
+                        ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    // Live task changes for the current user (and optionally one of their teams) as server-sent events
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTasks(
+            @RequestParam(required = false) Integer teamId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            Authentication authentication) {
+        Integer userId = Principals.userId(authentication);
+        if (userId == null) {
+            throw new AccessDeniedException("Not authenticated");
+        }
+        if (teamId != null && !teamService.isTeamMember(teamId, userId)) {
+            throw new AccessDeniedException("Not a member of team " + teamId);
+        }
+        return taskEventStream.subscribe(userId, teamId, lastEventId);
+    }
+
     @PostMapping
-    public ResponseEntity<Task> createTask(@RequestBody Task task) {
+    public ResponseEntity<TaskView> createTask(@RequestBody Task task) {
         Task createdTask = taskService.createTask(task);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdTask);
+        return ResponseEntity.status(HttpStatus.CREATED).body(TaskView.from(createdTask));
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<?> updateTask(@PathVariable Integer id, @RequestBody Task taskDetails) {
-        return taskService.updateTask(id, taskDetails)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<?> updateTask(
+            @PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody Task taskDetails) {
+        return taskService.updateTask(id, taskDetails, ETags.parseIfMatch(ifMatch))
+                .map(TaskView::from)
+                .map(task -> ResponseEntity.ok().eTag(ETags.of(task.version())).body(task))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkItemResult>> createTasks(@RequestBody List<TaskRequest> tasks) {
+        return ResponseEntity.ok(taskBulkService.createTasks(tasks));
+    }
+
+    @PatchMapping("/bulk")
+    public ResponseEntity<List<BulkItemResult>> updateTasks(@RequestBody List<Task> tasks) {
+        return ResponseEntity.ok(taskBulkService.updateTasks(tasks));
+    }
+
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<List<BulkItemResult>> deleteTasks(@Valid @RequestBody BulkTaskIdsRequest request) {
+        return ResponseEntity.ok(taskBulkService.deleteTasks(request.getIds()));
+    }
+
+    @PostMapping("/bulk/complete")
+    public ResponseEntity<List<BulkItemResult>> completeTasks(@Valid @RequestBody BulkTaskIdsRequest request) {
+        boolean completed = request.getCompleted() == null || request.getCompleted();
+        return ResponseEntity.ok(taskBulkService.completeTasks(request.getIds(), completed));
+    }
+
+    // Streamed CSV/NDJSON upload (optionally gzipped); the body is parsed as it arrives, not buffered
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson", MediaType.APPLICATION_JSON_VALUE,
+            MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ImportResult> importTasks(
+            @RequestParam(required = false) String format,
+            HttpServletRequest request) throws IOException {
+        String importFormat = Imports.format(format, request.getContentType(), null);
+        return ResponseEntity.ok(taskImportService.importTasks(Imports.body(request), importFormat));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportResult> importTasksFile(
+            @RequestParam(required = false) String format,
+            @RequestParam("file") MultipartFile file) throws IOException {
+        String importFormat = Imports.format(format, file.getContentType(), file.getOriginalFilename());
+        return ResponseEntity.ok(taskImportService.importTasks(Imports.body(file), importFormat));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteTask(@PathVariable Integer id) {
         boolean success = taskService.deleteTask(id);
@@ -85,4 +256,15 @@ public class TaskController {
         }
         return ResponseEntity.notFound().build();
     }
+
+    // A full page means there may be more: hand the client the cursor for the next one
+    private ResponseEntity<List<?>> page(List<TaskView> tasks, Integer limit, Set<String> expand) {
+        List<?> body = expand == null || expand.isEmpty() ? tasks : taskService.expandTasks(tasks, expand);
+        if (limit != null && !tasks.isEmpty() && tasks.size() >= taskService.pageSize(limit)) {
+            return ResponseEntity.ok()
+                    .header(NEXT_CURSOR_HEADER, String.valueOf(tasks.get(tasks.size() - 1).id()))
+                    .body(body);
+        }
+        return ResponseEntity.ok(body);
+    }
 }
\ No newline at end of file
@@ -1,7 +1,8 @@
 package com.taskassist.controller;
 
+import com.taskassist.dto.TeamView;
+import com.taskassist.dto.UserView;
 import com.taskassist.model.Team;
-import com.taskassist.model.User;
 import com.taskassist.service.TeamService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -19,13 +20,13 @@ public class TeamController {
     private final TeamService teamService;
 
     @GetMapping("/{userId}")
-    public ResponseEntity<List<User>> getTeamMembers(@PathVariable Integer userId) {
-        List<User> members = teamService.getTeamMembers(userId);
+    public ResponseEntity<List<UserView>> getTeamMembers(@PathVariable Integer userId) {
+        List<UserView> members = teamService.getTeamMembers(userId);
         return ResponseEntity.ok(members);
     }
 
     @PostMapping
-    public ResponseEntity<Team> addTeamMember(@RequestBody Map<String, Integer> request) {
+    public ResponseEntity<TeamView> addTeamMember(@RequestBody Map<String, Integer> request) {
         Integer userId1 = request.get("userId1");
         Integer userId2 = request.get("userId2");
         
@@ -34,7 +35,7 @@ public class TeamController {
         }
         
         Team team = teamService.addTeamMember(userId1, userId2);
-        return ResponseEntity.status(HttpStatus.CREATED).body(team);
+        return ResponseEntity.status(HttpStatus.CREATED).body(TeamView.from(team));
     }
 
     @DeleteMapping("/{teamId}")
@@ -1,6 +1,6 @@
 package com.taskassist.controller;
 
-import com.taskassist.model.User;
+import com.taskassist.dto.UserView;
 import com.taskassist.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,14 +17,8 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping("/search")
-    public List<User> search(@RequestParam String q) {
-        return userService.searchUsers(q).stream()
-               .limit(10)
-               .map(u -> { 
-                   // Hide password hash in response
-                   u.setPassword(null); 
-                   return u; 
-               })
-               .toList();
+    public List<UserView> search(@RequestParam String q) {
+        // UserView never includes the password hash, and the limit is applied in SQL
+        return userService.searchUsers(q, 10);
     }
 }
\ No newline at end of file
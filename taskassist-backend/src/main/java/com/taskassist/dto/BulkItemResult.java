@@ -0,0 +1,26 @@
+package com.taskassist.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+// Outcome of one item in a bulk request; index is the item's position in the request body
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkItemResult(int index, Integer id, String status, Map<String, String> errors) {
+
+    public static BulkItemResult ok(int index, Integer id, String status) {
+        return new BulkItemResult(index, id, status, null);
+    }
+
+    public static BulkItemResult notFound(int index, Integer id) {
+        return new BulkItemResult(index, id, "not_found", null);
+    }
+
+    public static BulkItemResult conflict(int index, Integer id) {
+        return new BulkItemResult(index, id, "conflict", null);
+    }
+
+    public static BulkItemResult invalid(int index, Integer id, Map<String, String> errors) {
+        return new BulkItemResult(index, id, "invalid", errors);
+    }
+}
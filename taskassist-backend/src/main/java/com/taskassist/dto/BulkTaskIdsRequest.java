@@ -0,0 +1,16 @@
+package com.taskassist.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkTaskIdsRequest {
+    
+    @NotEmpty(message = "At least one task ID is required")
+    private List<Integer> ids;
+    
+    // Only used by the bulk complete endpoint; defaults to true
+    private Boolean completed;
+}
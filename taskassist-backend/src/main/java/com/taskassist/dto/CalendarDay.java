@@ -0,0 +1,8 @@
+package com.taskassist.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// One calendar cell: exact counts plus at most application.tasks.calendar.max-per-day tasks
+public record CalendarDay(LocalDate date, long total, long completed, List<CalendarTaskView> tasks) {
+}
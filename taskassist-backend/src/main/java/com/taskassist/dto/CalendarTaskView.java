@@ -0,0 +1,19 @@
+package com.taskassist.dto;
+
+import java.time.LocalDateTime;
+
+// Compact task row for calendar cells and ICS export
+public record CalendarTaskView(
+        Integer id,
+        String title,
+        LocalDateTime dueDate,
+        Boolean completed,
+        String priority,
+        Boolean starred,
+        Integer projectId
+) {
+
+    // JPQL constructor expression matching the component order above
+    public static final String SELECT = "SELECT new com.taskassist.dto.CalendarTaskView(" +
+            "t.id, t.title, t.dueDate, t.completed, t.priority, t.starred, t.projectId) ";
+}
@@ -0,0 +1,14 @@
+package com.taskassist.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+// Task listing entry for ?expand=project,assignee,assigner; the task fields stay at the top level
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ExpandedTaskView(
+        @JsonUnwrapped TaskView task,
+        ProjectRef project,
+        UserRef assignee,
+        UserRef assigner
+) {
+}
@@ -0,0 +1,7 @@
+package com.taskassist.dto;
+
+import java.util.List;
+
+// Outcome of a streamed import; errors[].index is the 0-based data row (header excluded)
+public record ImportResult(int rows, int imported, int failed, List<BulkItemResult> errors, boolean errorsTruncated) {
+}
@@ -0,0 +1,5 @@
+package com.taskassist.dto;
+
+// Minimal project reference embedded in expanded task listings
+public record ProjectRef(Integer id, String name, String color) {
+}
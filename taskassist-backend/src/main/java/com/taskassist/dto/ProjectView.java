@@ -0,0 +1,28 @@
+package com.taskassist.dto;
+
+import com.taskassist.model.Project;
+
+import java.time.LocalDateTime;
+
+// Read model for project endpoints, without the lazy owner association
+public record ProjectView(
+        Integer id,
+        String name,
+        String color,
+        Integer userId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Integer teamId,
+        Boolean isPublic,
+        Long version
+) {
+
+    public static final String SELECT = "SELECT new com.taskassist.dto.ProjectView(" +
+            "p.id, p.name, p.color, p.userId, p.createdAt, p.updatedAt, p.teamId, p.isPublic, p.version) ";
+
+    public static ProjectView from(Project project) {
+        return new ProjectView(project.getId(), project.getName(), project.getColor(), project.getUserId(),
+                project.getCreatedAt(), project.getUpdatedAt(), project.getTeamId(), project.getIsPublic(),
+                project.getVersion());
+    }
+}
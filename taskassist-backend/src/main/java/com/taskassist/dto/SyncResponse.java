@@ -0,0 +1,18 @@
+package com.taskassist.dto;
+
+import java.util.List;
+
+/**
+ * One delta-sync page. With reset=true the lists hold the user's full data set and the
+ * client should replace its local copy; otherwise they hold only what changed since the
+ * cursor it sent. Either way the client sends back {@code cursor} on its next call.
+ */
+public record SyncResponse(
+        String cursor,
+        boolean reset,
+        List<TaskView> tasks,
+        List<ProjectView> projects,
+        List<Integer> deletedTaskIds,
+        List<Integer> deletedProjectIds
+) {
+}
@@ -0,0 +1,21 @@
+package com.taskassist.dto;
+
+// Result of the single-pass conditional aggregate in TaskRepository
+public interface TaskSummaryView {
+
+    long getTotal();
+
+    long getCompleted();
+
+    long getPending();
+
+    long getStarred();
+
+    long getOverdue();
+
+    long getHighPriority();
+
+    long getMediumPriority();
+
+    long getLowPriority();
+}
@@ -0,0 +1,37 @@
+package com.taskassist.dto;
+
+import com.taskassist.model.Task;
+
+import java.time.LocalDateTime;
+
+// Read model for task endpoints: scalar columns only, so serializing it can never touch a lazy association
+public record TaskView(
+        Integer id,
+        String title,
+        String description,
+        Boolean completed,
+        Integer projectId,
+        LocalDateTime dueDate,
+        String priority,
+        Boolean starred,
+        Integer assignedTo,
+        Integer assignedBy,
+        Integer userId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Integer teamId,
+        Long version
+) {
+
+    // JPQL constructor expression matching the component order above
+    public static final String SELECT = "SELECT new com.taskassist.dto.TaskView(" +
+            "t.id, t.title, t.description, t.completed, t.projectId, t.dueDate, t.priority, t.starred, " +
+            "t.assignedTo, t.assignedBy, t.userId, t.createdAt, t.updatedAt, t.teamId, t.version) ";
+
+    public static TaskView from(Task task) {
+        return new TaskView(task.getId(), task.getTitle(), task.getDescription(), task.getCompleted(),
+                task.getProjectId(), task.getDueDate(), task.getPriority(), task.getStarred(),
+                task.getAssignedTo(), task.getAssignedBy(), task.getUserId(), task.getCreatedAt(),
+                task.getUpdatedAt(), task.getTeamId(), task.getVersion());
+    }
+}
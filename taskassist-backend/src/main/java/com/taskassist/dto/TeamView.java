@@ -0,0 +1,13 @@
+package com.taskassist.dto;
+
+import com.taskassist.model.Team;
+
+import java.time.LocalDateTime;
+
+// Team connection without the lazy user1/user2 associations
+public record TeamView(Integer id, Integer userId1, Integer userId2, LocalDateTime createdAt) {
+
+    public static TeamView from(Team team) {
+        return new TeamView(team.getId(), team.getUserId1(), team.getUserId2(), team.getCreatedAt());
+    }
+}
@@ -0,0 +1,5 @@
+package com.taskassist.dto;
+
+// Minimal user reference embedded in expanded task listings
+public record UserRef(Integer id, String username, String firstName, String lastName) {
+}
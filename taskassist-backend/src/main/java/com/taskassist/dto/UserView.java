@@ -0,0 +1,24 @@
+package com.taskassist.dto;
+
+import com.taskassist.model.User;
+
+// Public profile of a user; never carries the password hash
+public record UserView(
+        Integer id,
+        String username,
+        String email,
+        String firstName,
+        String lastName,
+        String role,
+        String profileImageUrl,
+        Boolean isActive
+) {
+
+    public static final String SELECT = "SELECT new com.taskassist.dto.UserView(" +
+            "u.id, u.username, u.email, u.firstName, u.lastName, u.role, u.profileImageUrl, u.isActive) ";
+
+    public static UserView from(User user) {
+        return new UserView(user.getId(), user.getUsername(), user.getEmail(), user.getFirstName(),
+                user.getLastName(), user.getRole(), user.getProfileImageUrl(), user.getIsActive());
+    }
+}
@@ -1,12 +1,21 @@
 package com.taskassist.exception;
 
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.sql.SQLTransientConnectionException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -38,8 +47,73 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
     
+    // 412 when the client named a version (If-Match) that is no longer current; a race between
+    // two writers that sent no precondition is a plain 409
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex,
+                                                                              HttpServletRequest request) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "The resource was modified by another request; reload it and retry");
+        
+        String ifMatch = request.getHeader(HttpHeaders.IF_MATCH);
+        boolean precondition = ifMatch != null && !ifMatch.isBlank() && !ifMatch.trim().equals("*");
+        return new ResponseEntity<>(response, precondition ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT);
+    }
+    
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<Map<String, String>> handleAccessDenied(AccessDeniedException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", ex.getMessage());
+        
+        return new ResponseEntity<>(response, HttpStatus.FORBIDDEN);
+    }
+    
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Map<String, String>> handleTooManyRequests(TooManyRequestsException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+    
+    // No connection slot within the bulkhead/pool wait: shed load instead of reporting a server error
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<Map<String, String>> handleDatabaseBusy(Exception ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "The database is busy; retry shortly");
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+    
+    // Outside a transaction Hibernate takes the connection lazily, so a bulkhead refusal arrives translated
+    @ExceptionHandler(DataAccessResourceFailureException.class)
+    public ResponseEntity<Map<String, String>> handleDataAccessResourceFailure(DataAccessResourceFailureException ex) {
+        if (NestedExceptionUtils.getMostSpecificCause(ex) instanceof SQLTransientConnectionException) {
+            return handleDatabaseBusy(ex);
+        }
+        return handleGeneralExceptions(ex);
+    }
+    
+    // "fail" mode of the SQL budget (see SqlStatementCounter): a server-side regression, not a client error
+    @ExceptionHandler(SqlBudgetExceededException.class)
+    public ResponseEntity<Map<String, String>> handleSqlBudgetExceeded(SqlBudgetExceededException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "SQL statement budget exceeded");
+        response.put("detail", ex.getMessage());
+        
+        return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGeneralExceptions(Exception ex) {
+        // A statement refused during flush/commit arrives wrapped, e.g. in a TransactionSystemException
+        if (NestedExceptionUtils.getMostSpecificCause(ex) instanceof SqlBudgetExceededException budget) {
+            return handleSqlBudgetExceeded(budget);
+        }
         Map<String, String> response = new HashMap<>();
         response.put("message", ex.getMessage());
         
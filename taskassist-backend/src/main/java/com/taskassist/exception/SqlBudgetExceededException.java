@@ -0,0 +1,9 @@
+package com.taskassist.exception;
+
+// Raised by SqlStatementCounter in "fail" mode when a request issues too many (or too repetitive) statements
+public class SqlBudgetExceededException extends RuntimeException {
+    
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
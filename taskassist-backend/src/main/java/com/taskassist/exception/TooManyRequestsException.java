@@ -0,0 +1,14 @@
+package com.taskassist.exception;
+
+import lombok.Getter;
+
+// Load shedding: answered with 429 and a Retry-After of the given number of seconds
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+    private final long retryAfterSeconds;
+    
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
@@ -13,7 +14,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "projects")
+@DynamicUpdate
+@Table(name = "projects", indexes = {
+    @Index(name = "idx_projects_updated_at", columnList = "updated_at")
+})
 public class Project {
     
     @Id
@@ -42,6 +46,11 @@ public class Project {
     @Column(name = "team_id")
     private Integer teamId;
     
+    // Optimistic lock: bumped on every update and exposed to clients as the ETag
+    @Version
+    @Column(name = "version")
+    private Long version;
+    
     @Column(name = "is_public")
     private Boolean isPublic;
     
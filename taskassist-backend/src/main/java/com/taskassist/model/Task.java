@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
@@ -13,11 +14,21 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "tasks")
+@DynamicUpdate
+@Table(name = "tasks", indexes = {
+    @Index(name = "idx_tasks_user_completed", columnList = "user_id, completed"),
+    @Index(name = "idx_tasks_assigned_completed", columnList = "assigned_to, completed"),
+    @Index(name = "idx_tasks_assigned_by_completed", columnList = "assigned_by, completed"),
+    @Index(name = "idx_tasks_updated_at", columnList = "updated_at"),
+    @Index(name = "idx_tasks_user_due", columnList = "user_id, due_date"),
+    @Index(name = "idx_tasks_assigned_due", columnList = "assigned_to, due_date")
+})
 public class Task {
     
+    // Sequence with a pooled optimizer (50 ids per nextval) so Hibernate can batch inserts; IDENTITY cannot
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Integer id;
     
     @Column(nullable = false)
@@ -75,6 +86,11 @@ public class Task {
     @Column(name = "team_id")
     private Integer teamId;
     
+    // Optimistic lock: bumped on every update and exposed to clients as the ETag
+    @Version
+    @Column(name = "version")
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,88 @@
+package com.taskassist.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Marker left behind by a delete, or by a change that takes a row out of someone's view, so
+// delta sync can tell clients to drop the row
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tombstones", indexes = {
+    @Index(name = "idx_tombstones_deleted_at", columnList = "deleted_at")
+})
+public class Tombstone {
+    
+    public static final String TASK = "task";
+    public static final String PROJECT = "project";
+    // A team connection was added or removed: what its members may see changed wholesale
+    public static final String TEAM = "team";
+    
+    // Pooled sequence so bulk deletes can write their tombstones as batched inserts
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tombstones_seq")
+    @SequenceGenerator(name = "tombstones_seq", sequenceName = "tombstones_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "entity_type", nullable = false)
+    private String entityType;
+    
+    @Column(name = "entity_id", nullable = false)
+    private Integer entityId;
+    
+    // Who could see the row when it was deleted, so only they are told about it
+    @Column(name = "user_id")
+    private Integer userId;
+    
+    @Column(name = "assigned_to")
+    private Integer assignedTo;
+    
+    @Column(name = "assigned_by")
+    private Integer assignedBy;
+    
+    @Column(name = "team_id")
+    private Integer teamId;
+    
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+    
+    public static Tombstone of(Task task) {
+        return Tombstone.builder()
+            .entityType(TASK)
+            .entityId(task.getId())
+            .userId(task.getUserId())
+            .assignedTo(task.getAssignedTo())
+            .assignedBy(task.getAssignedBy())
+            .teamId(task.getTeamId())
+            .deletedAt(LocalDateTime.now())
+            .build();
+    }
+    
+    public static Tombstone of(Project project) {
+        return Tombstone.builder()
+            .entityType(PROJECT)
+            .entityId(project.getId())
+            .userId(project.getUserId())
+            .teamId(project.getTeamId())
+            .deletedAt(LocalDateTime.now())
+            .build();
+    }
+    
+    // One per member, addressed to the member alone
+    public static Tombstone of(Team team, Integer memberId) {
+        return Tombstone.builder()
+            .entityType(TEAM)
+            .entityId(team.getId())
+            .userId(memberId)
+            .teamId(team.getId())
+            .deletedAt(LocalDateTime.now())
+            .build();
+    }
+}
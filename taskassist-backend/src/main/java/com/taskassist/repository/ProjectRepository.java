@@ -1,11 +1,17 @@
 package com.taskassist.repository;
 
+import com.taskassist.dto.ProjectRef;
+import com.taskassist.dto.ProjectView;
 import com.taskassist.model.Project;
+import com.taskassist.security.AccessScope;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ProjectRepository extends JpaRepository<Project, Integer> {
     
@@ -16,4 +22,36 @@ public interface ProjectRepository extends JpaRepository<Project, Integer> {
     @Query("SELECT p FROM Project p WHERE p.userId = :userId OR " +
            "(p.teamId IN (SELECT t.id FROM Team t WHERE t.userId1 = :userId OR t.userId2 = :userId) AND p.isPublic = true)")
     List<Project> findProjectsByUserIdOrTeamMember(@Param("userId") Integer userId);
+    
+    @Query(ProjectView.SELECT + "FROM Project p ORDER BY p.id")
+    List<ProjectView> findAllViews();
+    
+    // Projects the scope may see: its own or public projects of its teams (admins see all)
+    String VISIBLE = "(:#{#scope.admin()} = true OR p.userId = :#{#scope.userId()} " +
+           "OR (p.teamId IN :#{#scope.teamIds()} AND p.isPublic = true)) ";
+    
+    // Projects the scope may change: only its own (admins may change all)
+    String OWNED = "(:#{#scope.admin()} = true OR p.userId = :#{#scope.userId()}) ";
+    
+    @Query(ProjectView.SELECT + "FROM Project p WHERE p.id = :id AND " + VISIBLE)
+    Optional<ProjectView> findViewById(@Param("id") Integer id, @Param("scope") AccessScope scope);
+    
+    @Query("SELECT p FROM Project p WHERE p.id = :id AND " + OWNED)
+    Optional<Project> findOwnedById(@Param("id") Integer id, @Param("scope") AccessScope scope);
+    
+    @Query(ProjectView.SELECT + "FROM Project p WHERE p.userId = :userId AND " + VISIBLE + "ORDER BY p.id")
+    List<ProjectView> findViewsByUserId(@Param("userId") Integer userId, @Param("scope") AccessScope scope);
+    
+    @Query(ProjectView.SELECT + "FROM Project p WHERE p.userId = :userId OR " +
+           "(p.teamId IN (SELECT t.id FROM Team t WHERE t.userId1 = :userId OR t.userId2 = :userId) AND p.isPublic = true) " +
+           "ORDER BY p.id")
+    List<ProjectView> findViewsByUserIdOrTeamMember(@Param("userId") Integer userId);
+    
+    @Query(ProjectView.SELECT + "FROM Project p WHERE p.updatedAt >= :since AND (p.userId = :userId OR " +
+           "(p.teamId IN (SELECT t.id FROM Team t WHERE t.userId1 = :userId OR t.userId2 = :userId) AND p.isPublic = true)) " +
+           "ORDER BY p.id")
+    List<ProjectView> findViewsChangedSince(@Param("userId") Integer userId, @Param("since") LocalDateTime since);
+    
+    @Query("SELECT new com.taskassist.dto.ProjectRef(p.id, p.name, p.color) FROM Project p WHERE p.id IN :ids")
+    List<ProjectRef> findRefsByIdIn(@Param("ids") Collection<Integer> ids);
 }
\ No newline at end of file
@@ -1,11 +1,24 @@
 package com.taskassist.repository;
 
+import com.taskassist.dto.CalendarTaskView;
+import com.taskassist.dto.TaskSummaryView;
+import com.taskassist.dto.TaskView;
 import com.taskassist.model.Task;
+import com.taskassist.security.AccessScope;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TaskRepository extends JpaRepository<Task, Integer> {
     
@@ -17,27 +30,123 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
     
     List<Task> findByTeamId(Integer teamId);
     
-    @Query("SELECT t FROM Task t WHERE " +
-           "(t.userId = :userId OR t.assignedTo = :userId OR t.assignedBy = :userId) AND " +
-           "(:filter IS NULL OR " +
-           "(:filter = 'completed' AND t.completed = true) OR " +
-           "(:filter = 'pending' AND t.completed = false) OR " +
-           "(:filter = 'starred' AND t.starred = true))")
-    List<Task> findByUserIdAndFilter(@Param("userId") Integer userId, @Param("filter") String filter);
-    
-    @Query("SELECT t FROM Task t WHERE t.assignedTo = :userId AND " +
-           "(:filter IS NULL OR " +
-           "(:filter = 'completed' AND t.completed = true) OR " +
-           "(:filter = 'pending' AND t.completed = false) OR " +
-           "(:filter = 'starred' AND t.starred = true))")
-    List<Task> findByAssignedToAndFilter(@Param("userId") Integer userId, @Param("filter") String filter);
-    
-    @Query("SELECT COUNT(t) FROM Task t")
-    long countTotalTasks();
-    
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.completed = true")
-    long countCompletedTasks();
-    
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.completed = false")
-    long countPendingTasks();
+    // Tasks the scope may see: its own, assigned to or by it, or in one of its teams (admins see all)
+    String VISIBLE = "(:#{#scope.admin()} = true OR t.userId = :#{#scope.userId()} " +
+           "OR t.assignedTo = :#{#scope.userId()} OR t.assignedBy = :#{#scope.userId()} " +
+           "OR t.teamId IN :#{#scope.teamIds()}) ";
+    
+    @Query(TaskView.SELECT + "FROM Task t WHERE t.id = :id AND " + VISIBLE)
+    Optional<TaskView> findViewById(@Param("id") Integer id, @Param("scope") AccessScope scope);
+    
+    @Query("SELECT t FROM Task t WHERE t.id = :id AND " + VISIBLE)
+    Optional<Task> findVisibleById(@Param("id") Integer id, @Param("scope") AccessScope scope);
+    
+    @Query("SELECT t FROM Task t WHERE t.id IN :ids AND " + VISIBLE)
+    List<Task> findAllVisibleById(@Param("ids") Collection<Integer> ids, @Param("scope") AccessScope scope);
+    
+    // Keyset pages ordered by id: pass the last id of the previous page as "after" (0 for the first page)
+    @Query(TaskView.SELECT + "FROM Task t WHERE t.id > :after AND " + VISIBLE + "ORDER BY t.id")
+    List<TaskView> findPage(@Param("after") Integer after, @Param("scope") AccessScope scope, Limit limit);
+    
+    @Query(TaskView.SELECT + "FROM Task t WHERE t.completed = :completed AND t.id > :after AND " + VISIBLE + "ORDER BY t.id")
+    List<TaskView> findPageByCompleted(@Param("completed") boolean completed, @Param("after") Integer after,
+                                       @Param("scope") AccessScope scope, Limit limit);
+    
+    @Query(TaskView.SELECT + "FROM Task t WHERE t.starred = true AND t.id > :after AND " + VISIBLE + "ORDER BY t.id")
+    List<TaskView> findStarredPage(@Param("after") Integer after, @Param("scope") AccessScope scope, Limit limit);
+    
+    // One query per filter rather than a catch-all ":filter IS NULL OR ...", whose generic plan
+    // cannot use the (user_id|assigned_to|assigned_by, completed) indexes
+    String BY_USER = TaskView.SELECT + "FROM Task t WHERE " +
+           "(t.userId = :userId OR t.assignedTo = :userId OR t.assignedBy = :userId) AND t.id > :after AND " + VISIBLE;
+    
+    @Query(BY_USER + "ORDER BY t.id")
+    List<TaskView> findPageByUser(@Param("userId") Integer userId, @Param("after") Integer after,
+                                  @Param("scope") AccessScope scope, Limit limit);
+    
+    @Query(BY_USER + "AND t.completed = :completed ORDER BY t.id")
+    List<TaskView> findPageByUserAndCompleted(@Param("userId") Integer userId, @Param("completed") boolean completed,
+                                              @Param("after") Integer after, @Param("scope") AccessScope scope, Limit limit);
+    
+    @Query(BY_USER + "AND t.starred = true ORDER BY t.id")
+    List<TaskView> findStarredPageByUser(@Param("userId") Integer userId, @Param("after") Integer after,
+                                         @Param("scope") AccessScope scope, Limit limit);
+    
+    String BY_ASSIGNEE = TaskView.SELECT + "FROM Task t WHERE t.assignedTo = :userId AND t.id > :after AND " + VISIBLE;
+    
+    @Query(BY_ASSIGNEE + "ORDER BY t.id")
+    List<TaskView> findPageByAssignee(@Param("userId") Integer userId, @Param("after") Integer after,
+                                      @Param("scope") AccessScope scope, Limit limit);
+    
+    @Query(BY_ASSIGNEE + "AND t.completed = :completed ORDER BY t.id")
+    List<TaskView> findPageByAssigneeAndCompleted(@Param("userId") Integer userId, @Param("completed") boolean completed,
+                                                  @Param("after") Integer after, @Param("scope") AccessScope scope, Limit limit);
+    
+    @Query(BY_ASSIGNEE + "AND t.starred = true ORDER BY t.id")
+    List<TaskView> findStarredPageByAssignee(@Param("userId") Integer userId, @Param("after") Integer after,
+                                             @Param("scope") AccessScope scope, Limit limit);
+    
+    // Delta sync: everything the scope may see that changed at or after :since; same predicate
+    // as the read API so a delta and a full sync agree
+    @Query(TaskView.SELECT + "FROM Task t WHERE t.updatedAt >= :since AND " + VISIBLE + "ORDER BY t.id")
+    List<TaskView> findChangedSince(@Param("since") LocalDateTime since, @Param("scope") AccessScope scope);
+    
+    @Query(TaskView.SELECT + "FROM Task t WHERE " + VISIBLE + "ORDER BY t.id")
+    List<TaskView> findVisibleTo(@Param("scope") AccessScope scope);
+    
+    // Calendar window over idx_tasks_user_due / idx_tasks_assigned_due; :to is exclusive
+    String CALENDAR_WHERE = "FROM Task t WHERE (t.userId = :userId OR t.assignedTo = :userId) " +
+           "AND t.dueDate >= :from AND t.dueDate < :to ORDER BY t.dueDate, t.id";
+    
+    @Query(CalendarTaskView.SELECT + CALENDAR_WHERE)
+    List<CalendarTaskView> findCalendar(@Param("userId") Integer userId, @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to);
+    
+    // Forward-only cursor for exports; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(CalendarTaskView.SELECT + CALENDAR_WHERE)
+    Stream<CalendarTaskView> streamCalendar(@Param("userId") Integer userId, @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TaskView.SELECT + "FROM Task t WHERE t.teamId = :teamId ORDER BY t.id")
+    Stream<TaskView> streamByTeamId(@Param("teamId") Integer teamId);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TaskView.SELECT + "FROM Task t WHERE t.userId = :userId OR t.assignedTo = :userId ORDER BY t.id")
+    Stream<TaskView> streamVisibleTo(@Param("userId") Integer userId);
+    
+    String SUMMARY_SELECT = "SELECT COUNT(t) AS total, " +
+           "COALESCE(SUM(CASE WHEN t.completed = true THEN 1 ELSE 0 END), 0) AS completed, " +
+           "COALESCE(SUM(CASE WHEN t.completed = false THEN 1 ELSE 0 END), 0) AS pending, " +
+           "COALESCE(SUM(CASE WHEN t.starred = true THEN 1 ELSE 0 END), 0) AS starred, " +
+           "COALESCE(SUM(CASE WHEN t.completed = false AND t.dueDate < :now THEN 1 ELSE 0 END), 0) AS overdue, " +
+           "COALESCE(SUM(CASE WHEN LOWER(t.priority) = 'high' THEN 1 ELSE 0 END), 0) AS highPriority, " +
+           "COALESCE(SUM(CASE WHEN LOWER(t.priority) = 'medium' THEN 1 ELSE 0 END), 0) AS mediumPriority, " +
+           "COALESCE(SUM(CASE WHEN LOWER(t.priority) = 'low' THEN 1 ELSE 0 END), 0) AS lowPriority " +
+           "FROM Task t ";
+    
+    @Query(SUMMARY_SELECT)
+    TaskSummaryView summarize(@Param("now") LocalDateTime now);
+    
+    // Same VISIBLE predicate as the lists, so a summary never counts rows the caller cannot list
+    @Query(SUMMARY_SELECT + "WHERE (t.userId = :userId OR t.assignedTo = :userId OR t.assignedBy = :userId) AND " + VISIBLE)
+    TaskSummaryView summarizeByUser(@Param("userId") Integer userId, @Param("now") LocalDateTime now,
+                                    @Param("scope") AccessScope scope);
+    
+    @Query(SUMMARY_SELECT + "WHERE t.projectId = :projectId AND " + VISIBLE)
+    TaskSummaryView summarizeByProject(@Param("projectId") Integer projectId, @Param("now") LocalDateTime now,
+                                       @Param("scope") AccessScope scope);
+    
+    @Query(SUMMARY_SELECT + "WHERE t.teamId = :teamId")
+    TaskSummaryView summarizeByTeam(@Param("teamId") Integer teamId, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT t.id FROM Task t WHERE t.id IN :ids AND " + VISIBLE)
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids, @Param("scope") AccessScope scope);
+    
+    // Returns how many tasks actually changed state
+    @Modifying
+    @Query("UPDATE Task t SET t.completed = :completed, t.updatedAt = :now, t.version = t.version + 1 WHERE t.id IN :ids AND t.completed <> :completed")
+    int updateCompleted(@Param("ids") Collection<Integer> ids, @Param("completed") boolean completed,
+                        @Param("now") LocalDateTime now);
 }
\ No newline at end of file
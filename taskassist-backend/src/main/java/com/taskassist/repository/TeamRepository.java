@@ -1,7 +1,7 @@
 package com.taskassist.repository;
 
+import com.taskassist.dto.TeamView;
 import com.taskassist.model.Team;
-import com.taskassist.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,10 +14,6 @@ public interface TeamRepository extends JpaRepository<Team, Integer> {
     @Query("SELECT t FROM Team t WHERE (t.userId1 = :userId1 AND t.userId2 = :userId2) OR (t.userId1 = :userId2 AND t.userId2 = :userId1)")
     Optional<Team> findTeamConnection(@Param("userId1") Integer userId1, @Param("userId2") Integer userId2);
     
-    @Query("""
-        SELECT u FROM User u
-        JOIN Team t ON t.userId2 = u.id
-        WHERE t.userId1 = :userId
-    """)
-    List<User> findTeamMembersByUserId(@Param("userId") Integer userId);
+    @Query("SELECT new com.taskassist.dto.TeamView(t.id, t.userId1, t.userId2, t.createdAt) FROM Team t")
+    List<TeamView> findAllViews();
 }
\ No newline at end of file
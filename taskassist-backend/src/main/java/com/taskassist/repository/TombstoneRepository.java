@@ -0,0 +1,24 @@
+package com.taskassist.repository;
+
+import com.taskassist.model.Tombstone;
+import com.taskassist.security.AccessScope;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+    
+    // Same audience as TaskRepository.VISIBLE, applied to the row as it was when it went away
+    @Query("SELECT t FROM Tombstone t WHERE t.deletedAt >= :since AND (:#{#scope.admin()} = true " +
+           "OR t.userId = :#{#scope.userId()} OR t.assignedTo = :#{#scope.userId()} OR t.assignedBy = :#{#scope.userId()} " +
+           "OR t.teamId IN :#{#scope.teamIds()}) ORDER BY t.id")
+    List<Tombstone> findVisibleSince(@Param("since") LocalDateTime since, @Param("scope") AccessScope scope);
+    
+    @Modifying
+    @Query("DELETE FROM Tombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,10 +1,16 @@
 package com.taskassist.repository;
 
+import com.taskassist.dto.UserRef;
+import com.taskassist.dto.UserView;
 import com.taskassist.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,9 +24,33 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     
     boolean existsByEmail(String email);
     
-    @Query("SELECT u FROM User u WHERE LOWER(u.username) LIKE LOWER(CONCAT('%', :query, '%')) " +
-           "OR LOWER(u.firstName) LIKE LOWER(CONCAT('%', :query, '%')) " +
-           "OR LOWER(u.lastName) LIKE LOWER(CONCAT('%', :query, '%')) " +
-           "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :query, '%'))")
-    List<User> searchUsers(@Param("query") String query);
-}
\ No newline at end of file
+    // Substring match on every searchable column (served by the pg_trgm indexes in schema.sql),
+    // username prefix matches first, then closest usernames by trigram similarity
+    @Query(UserView.SELECT + "FROM User u WHERE LOWER(u.username) LIKE :pattern ESCAPE '\\' " +
+           "OR LOWER(u.firstName) LIKE :pattern ESCAPE '\\' " +
+           "OR LOWER(u.lastName) LIKE :pattern ESCAPE '\\' " +
+           "OR LOWER(u.email) LIKE :pattern ESCAPE '\\' " +
+           "ORDER BY CASE WHEN LOWER(u.username) LIKE :prefix ESCAPE '\\' THEN 0 ELSE 1 END, " +
+           "FUNCTION('similarity', LOWER(u.username), :query) DESC, u.username")
+    List<UserView> searchUsers(@Param("query") String query, @Param("pattern") String pattern,
+                               @Param("prefix") String prefix, Limit limit);
+    
+    // Queries shorter than a trigram: a range scan over idx_users_username_prefix (schema.sql)
+    @Query(UserView.SELECT + "FROM User u WHERE LOWER(u.username) LIKE :prefix ESCAPE '\\' ORDER BY LOWER(u.username), u.id")
+    List<UserView> searchUsernamePrefix(@Param("prefix") String prefix, Limit limit);
+    
+    @Query(UserView.SELECT + "FROM User u")
+    List<UserView> findAllViews();
+    
+    @Query(UserView.SELECT + "FROM User u WHERE u.id IN :ids ORDER BY u.id")
+    List<UserView> findViewsByIdIn(@Param("ids") Collection<Integer> ids);
+    
+    @Query("SELECT new com.taskassist.dto.UserRef(u.id, u.username, u.firstName, u.lastName) FROM User u WHERE u.id IN :ids")
+    List<UserRef> findRefsByIdIn(@Param("ids") Collection<Integer> ids);
+    
+    // Rehash on login touches only the password column, not a full entity save
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Integer id, @Param("password") String password);
+}
@@ -0,0 +1,32 @@
+package com.taskassist.security;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Who the current request acts as, resolved once from the principal and the in-memory
+ * team graph. Repositories bind it into their queries (":#{#scope.userId()}" etc.) so that
+ * ownership and team visibility are part of the data query rather than a separate lookup.
+ */
+public record AccessScope(Integer userId, boolean admin, List<Integer> teamIds, int[] teammates) {
+
+    // Placeholder so "IN :teamIds" stays valid SQL for users without teams; no team has id 0
+    static final List<Integer> NO_TEAMS = List.of(0);
+
+    public static AccessScope anonymous() {
+        return new AccessScope(null, false, NO_TEAMS, new int[0]);
+    }
+
+    // Acting as (creating or listing on behalf of) the given user
+    public boolean canActAs(Integer otherUserId) {
+        return admin || (userId != null && userId.equals(otherUserId));
+    }
+
+    public boolean canViewUser(Integer otherUserId) {
+        return canActAs(otherUserId) || (otherUserId != null && Arrays.binarySearch(teammates, otherUserId) >= 0);
+    }
+
+    public boolean inTeam(Integer teamId) {
+        return admin || (teamId != null && teamId > 0 && teamIds.contains(teamId));
+    }
+}
@@ -0,0 +1,36 @@
+package com.taskassist.security;
+
+import com.taskassist.service.TeamGraph;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+// Builds the AccessScope of the authenticated request without touching the database
+@Component
+@RequiredArgsConstructor
+public class AccessScopes {
+
+    private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+
+    private final TeamGraph teamGraph;
+
+    public AccessScope current() {
+        return of(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    public AccessScope of(Authentication authentication) {
+        Integer userId = Principals.userId(authentication);
+        if (userId == null) {
+            return AccessScope.anonymous();
+        }
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> ADMIN_AUTHORITY.equals(authority.getAuthority()));
+        int[] teamIds = teamGraph.teamIdsOf(userId);
+        return new AccessScope(userId, admin,
+                teamIds.length == 0 ? AccessScope.NO_TEAMS : Arrays.stream(teamIds).boxed().toList(),
+                teamGraph.teammatesOf(userId));
+    }
+}
@@ -0,0 +1,199 @@
+package com.taskassist.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits POST /api/auth/login and /api/auth/register before any user lookup or password
+ * hash: one token bucket per client IP (both endpoints) and one per username (login). A
+ * rejected attempt costs a map lookup and a CAS and is answered with 429 and Retry-After.
+ * The client IP is getRemoteAddr(); behind a proxy, enable server.forward-headers-strategy
+ * so it reflects the real client rather than trusting X-Forwarded-For here.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/api/auth/login";
+    private static final String REGISTER_PATH = "/api/auth/register";
+
+    // Credentials are tiny; bigger login bodies are refused before parsing
+    private static final int MAX_BODY_BYTES = 8 * 1024;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${application.security.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${application.security.rate-limit.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${application.security.rate-limit.ip.refill-per-minute:20}")
+    private int ipRefillPerMinute;
+
+    @Value("${application.security.rate-limit.username.capacity:5}")
+    private int usernameCapacity;
+
+    @Value("${application.security.rate-limit.username.refill-per-minute:5}")
+    private int usernameRefillPerMinute;
+
+    @Value("${application.security.rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    @Getter
+    private TokenBucketLimiter ipLimiter;
+
+    @Getter
+    private TokenBucketLimiter usernameLimiter;
+
+    @PostConstruct
+    void init() {
+        ipLimiter = new TokenBucketLimiter(ipCapacity, ipRefillPerMinute, maxKeys);
+        usernameLimiter = new TokenBucketLimiter(usernameCapacity, usernameRefillPerMinute, maxKeys);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !enabled || !"POST".equals(request.getMethod())
+                || !(LOGIN_PATH.equals(path) || REGISTER_PATH.equals(path));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        long wait = ipLimiter.tryAcquire(request.getRemoteAddr());
+        if (wait > 0) {
+            reject(response, wait);
+            return;
+        }
+        if (!LOGIN_PATH.equals(request.getServletPath())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // The controller still needs the body, so read it once and replay it
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+        String username = username(body);
+        if (username != null) {
+            wait = usernameLimiter.tryAcquire(username);
+            if (wait > 0) {
+                reject(response, wait);
+                return;
+            }
+        }
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    private String username(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).path("username");
+            return username.isTextual() ? username.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            // Malformed bodies are rejected by the controller's validation
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("message", "Too many attempts; retry later"));
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so it is available (and read) at once
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.taskassist.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,6 +20,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @RequiredArgsConstructor
@@ -22,6 +28,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenPrincipalCache tokenPrincipalCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final MeterRegistry meterRegistry;
+
+    // "database" loads the user for every new token, "claims" trusts the signed claims alone
+    @Value("${application.security.jwt.principal-mode:database}")
+    private String principalMode;
+
+    private boolean claimsPrincipalMode;
+
+    // Signature check and parse alone, and the whole principal resolution per source
+    private Timer verifyValid;
+    private Timer verifyInvalid;
+    private Timer resolveCached;
+    private Timer resolveLoaded;
+
+    @PostConstruct
+    void init() {
+        claimsPrincipalMode = "claims".equalsIgnoreCase(principalMode);
+        verifyValid = jwtTimer("taskassist.jwt.verify", "outcome", "valid");
+        verifyInvalid = jwtTimer("taskassist.jwt.verify", "outcome", "invalid");
+        resolveCached = jwtTimer("taskassist.jwt.authentication", "source", "cache");
+        resolveLoaded = jwtTimer("taskassist.jwt.authentication", "source", claimsPrincipalMode ? "claims" : "database");
+    }
 
     @Override
     protected void doFilterInternal(
@@ -39,14 +69,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
 
-        try {
-            // Try to extract claims directly to check for Express.js style token with "id" claim
-            Integer userId = jwtService.extractClaim(jwt, claims -> claims.get("id", Integer.class));
-
-            if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Find user by ID instead of username to match Express.js behavior
-                UserDetails userDetails = ((UserDetailsService) userDetailsService).loadUserByUsername(userId.toString());
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            long start = System.nanoTime();
+            UserDetails userDetails;
+            Timer resolved = resolveLoaded;
+            if (claimsPrincipalMode) {
+                userDetails = principalFromClaims(jwt);
+            } else {
+                userDetails = tokenPrincipalCache.get(jwt);
+                if (userDetails == null) {
+                    userDetails = loadUserDetails(jwt);
+                } else {
+                    resolved = resolveCached;
+                }
+            }
+            resolved.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -57,24 +96,41 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 );
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private UserDetails loadUserDetails(String jwt) {
+        final Claims claims;
+        try {
+            // Verify the signature once and read every claim from the same parse
+            claims = verify(jwt);
+        } catch (Exception e) {
+            return null;
+        }
+        if (tokenRevocationService.isRevoked(claims)) {
+            return null;
+        }
+
+        UserDetails userDetails = null;
+        try {
+            // Try to extract claims directly to check for Express.js style token with "id" claim
+            Integer userId = claims.get("id", Integer.class);
+
+            if (userId != null) {
+                // Find user by ID instead of username to match Express.js behavior
+                userDetails = userDetailsService.loadUserByUsername(userId.toString());
+            }
         } catch (Exception e) {
             // If ID-based extraction fails, try username-based (Spring Boot standard)
             try {
-                String username = jwtService.extractUsername(jwt);
-
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-                    if (jwtService.isTokenValid(jwt, userDetails)) {
-                        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
-                        authToken.setDetails(
-                                new WebAuthenticationDetailsSource().buildDetails(request)
-                        );
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
+                String username = claims.getSubject();
+
+                if (username != null) {
+                    UserDetails candidate = this.userDetailsService.loadUserByUsername(username);
+                    if (jwtService.isTokenValid(claims, candidate)) {
+                        userDetails = candidate;
                     }
                 }
             } catch (Exception ex) {
@@ -82,6 +138,45 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
         }
 
-        filterChain.doFilter(request, response);
+        if (userDetails != null) {
+            tokenPrincipalCache.put(jwt, userDetails, claims.getExpiration().getTime());
+        }
+        return userDetails;
+    }
+
+    private UserDetails principalFromClaims(String jwt) {
+        try {
+            Claims claims = verify(jwt);
+            if (tokenRevocationService.isRevoked(claims)) {
+                return null;
+            }
+
+            Integer userId = claims.get("id", Integer.class);
+            String role = claims.get("role", String.class);
+            Boolean active = claims.get("active", Boolean.class);
+            // Tokens minted before claims mode lack role/active and must log in again
+            if (userId == null || claims.getSubject() == null || role == null || !Boolean.TRUE.equals(active)) {
+                return null;
+            }
+            return new ClaimsPrincipal(userId, claims.getSubject(), role, true);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private Claims verify(String jwt) {
+        long start = System.nanoTime();
+        try {
+            Claims claims = jwtService.extractAllClaims(jwt);
+            verifyValid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return claims;
+        } catch (RuntimeException e) {
+            verifyInvalid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer jwtTimer(String name, String tag, String value) {
+        return Timer.builder(name).tag(tag, value).publishPercentileHistogram().register(meterRegistry);
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,16 @@
 package com.taskassist.security;
 
+import com.taskassist.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -13,6 +19,7 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
@@ -24,6 +31,48 @@ public class JwtService {
     @Value("${application.security.jwt.expiration}")
     private long jwtExpiration;
 
+    // Key id stamped into the "kid" header of every token we sign
+    @Value("${application.security.jwt.key-id:primary}")
+    private String keyId;
+
+    // Previous secrets still accepted for verification, as "kid:base64secret,kid:base64secret"
+    @Value("${application.security.jwt.verification-keys:}")
+    private String verificationKeys;
+
+    private Key signingKey;
+    private Map<String, Key> verificationKeysById;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        signingKey = toKey(secretKey);
+
+        Map<String, Key> keys = new HashMap<>();
+        for (String entry : verificationKeys.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalStateException("Invalid JWT verification key entry: " + entry.trim());
+            }
+            keys.put(entry.substring(0, separator).trim(), toKey(entry.substring(separator + 1).trim()));
+        }
+        keys.put(keyId, signingKey);
+        verificationKeysById = Map.copyOf(keys);
+
+        // JwtParser is immutable and thread-safe, so one instance serves every request
+        jwtParser = Jwts
+                .parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveVerificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -33,6 +82,16 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Verifies the token and returns its claims. Callers that need several
+     * claims should parse once here and read them from the result.
+     */
+    public Claims extractAllClaims(String token) {
+        return jwtParser
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
     public String generateToken(UserDetails userDetails) {
         return generateToken(new HashMap<>(), userDetails);
     }
@@ -50,10 +109,29 @@ public class JwtService {
         claims.put("id", userId);
         return Jwts
                 .builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyId)
+                .setClaims(claims)
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    // Token carrying everything the claims-only principal mode needs, plus a jti for revocation
+    public String generateTokenForUser(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("id", user.getId());
+        claims.put("role", user.getRole());
+        claims.put("active", user.getIsActive());
+        return Jwts
+                .builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyId)
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
+                .setSubject(user.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -71,38 +149,46 @@ public class JwtService {
 
         return Jwts
                 .builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyId)
                 .setClaims(claims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
+    }
+
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username != null && username.equals(userDetails.getUsername())) && !isTokenExpired(claims);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
-    private Date extractExpiration(String token) {
+    public Date extractExpiration(String token) {
         return extractClaim(token, Claims::getExpiration);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private Key resolveVerificationKey(String kid) {
+        // Tokens issued before key ids were introduced carry no "kid" and use the current key
+        if (kid == null) {
+            return signingKey;
+        }
+        Key key = verificationKeysById.get(kid);
+        if (key == null) {
+            throw new SignatureException("Unknown JWT key id: " + kid);
+        }
+        return key;
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+    private static Key toKey(String base64Secret) {
+        byte[] keyBytes = Decoders.BASE64.decode(base64Secret);
         return Keys.hmacShaKeyFor(keyBytes);
     }
-}
\ No newline at end of file
+}
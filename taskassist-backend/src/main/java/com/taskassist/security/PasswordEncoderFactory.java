@@ -0,0 +1,108 @@
+package com.taskassist.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Builds the application's DelegatingPasswordEncoder. New hashes use the configured
+ * algorithm ("bcrypt" or "argon2") and are stored as "{id}hash"; hashes of any other id,
+ * a lower cost, or the legacy unprefixed bcrypt format still verify and report
+ * upgradeEncoding() = true, so they are rehashed on the user's next successful login.
+ * A cost of 0 means "calibrate": the cost is measured at startup and set to the highest
+ * one whose hash time stays within target-latency on this machine.
+ */
+@Slf4j
+@Component
+public class PasswordEncoderFactory {
+
+    // The previous hard-coded BCryptPasswordEncoder default; calibration never goes below it
+    private static final int BCRYPT_MIN_STRENGTH = 10;
+    private static final int BCRYPT_MAX_STRENGTH = 16;
+    private static final int ARGON2_MAX_ITERATIONS = 10;
+    private static final String SAMPLE = "calibration-Pa55word!";
+
+    @Value("${application.security.password.algorithm:bcrypt}")
+    private String algorithm;
+
+    @Value("${application.security.password.target-latency:200}")
+    private long targetLatencyMillis;
+
+    @Value("${application.security.password.bcrypt.strength:0}")
+    private int bcryptStrength;
+
+    @Value("${application.security.password.argon2.memory:19456}")
+    private int argon2MemoryKib;
+
+    @Value("${application.security.password.argon2.iterations:0}")
+    private int argon2Iterations;
+
+    @Value("${application.security.password.argon2.parallelism:1}")
+    private int argon2Parallelism;
+
+    public PasswordEncoder create() {
+        String idForEncode = algorithm.toLowerCase();
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        // Only the active algorithm pays for calibration; the other one just has to verify
+        encoders.put("bcrypt", "bcrypt".equals(idForEncode) ? bcrypt() : new BCryptPasswordEncoder());
+        encoders.put("argon2", "argon2".equals(idForEncode) ? argon2()
+                : Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(idForEncode)) {
+            throw new IllegalStateException("Unknown application.security.password.algorithm: " + algorithm);
+        }
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(idForEncode, encoders);
+        // Hashes written before this encoder existed are bare bcrypt strings without an {id}
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
+    }
+
+    private PasswordEncoder bcrypt() {
+        int strength = bcryptStrength;
+        if (strength <= 0) {
+            // Each step doubles the work, so one measurement at the minimum predicts the rest
+            long base = measure(new BCryptPasswordEncoder(BCRYPT_MIN_STRENGTH));
+            strength = BCRYPT_MIN_STRENGTH;
+            while (strength < BCRYPT_MAX_STRENGTH && base * (1L << (strength + 1 - BCRYPT_MIN_STRENGTH)) <= targetLatencyMillis) {
+                strength++;
+            }
+            log.info("Calibrated bcrypt strength {} (~{}ms at strength {}, target {}ms)",
+                    strength, base, BCRYPT_MIN_STRENGTH, targetLatencyMillis);
+        }
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    private PasswordEncoder argon2() {
+        IntFunction<PasswordEncoder> withIterations =
+                iterations -> new Argon2PasswordEncoder(16, 32, argon2Parallelism, argon2MemoryKib, iterations);
+        int iterations = argon2Iterations;
+        if (iterations <= 0) {
+            // Time grows linearly with iterations at a fixed memory cost
+            long single = Math.max(1, measure(withIterations.apply(1)));
+            iterations = (int) Math.max(2, Math.min(ARGON2_MAX_ITERATIONS, targetLatencyMillis / single));
+            log.info("Calibrated argon2 to {} iterations at {} KiB (~{}ms per iteration, target {}ms)",
+                    iterations, argon2MemoryKib, single, targetLatencyMillis);
+        }
+        return withIterations.apply(iterations);
+    }
+
+    // Best of a few runs after a warm-up, in milliseconds
+    private static long measure(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE);
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+        }
+        return best;
+    }
+}
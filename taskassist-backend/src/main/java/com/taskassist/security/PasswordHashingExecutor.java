@@ -0,0 +1,92 @@
+package com.taskassist.security;
+
+import com.taskassist.exception.TooManyRequestsException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Small fixed pool of platform threads that does all password hashing. bcrypt is pure CPU,
+ * so on virtual threads a login burst would occupy every carrier and stall unrelated
+ * requests; here at most "threads" hashes run at once, up to "queue-capacity" wait, and
+ * anything beyond that is shed with a 429 instead of queueing without bound.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    @Value("${application.security.password.threads:0}")
+    private int threads;
+
+    @Value("${application.security.password.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${application.security.password.retry-after:1}")
+    private long retryAfterSeconds;
+
+    private final LongAdder rejected = new LongAdder();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        // Default to half the cores so hashing can never take the whole CPU
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Runs the work on the pool and waits for it; the caller's (virtual) thread just parks
+    public <T> T call(Supplier<T> work) {
+        Future<T> result;
+        try {
+            result = executor.submit(work::get);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many sign-in attempts in progress; retry shortly", retryAfterSeconds);
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public int getPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public int getActive() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueued() {
+        return executor.getQueue().size();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,25 @@
+package com.taskassist.security;
+
+import com.taskassist.model.User;
+import org.springframework.security.core.Authentication;
+
+// Reads the current user's id whichever principal mode authenticated the request
+public final class Principals {
+
+    private Principals() {
+    }
+
+    public static Integer userId(Authentication authentication) {
+        if (authentication == null) {
+            return null;
+        }
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof User user) {
+            return user.getId();
+        }
+        if (principal instanceof ClaimsPrincipal claimsPrincipal) {
+            return claimsPrincipal.id();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,151 @@
+package com.taskassist.security;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Keyed token buckets held entirely in memory. Each bucket is one AtomicLong updated by CAS
+ * using the GCRA form of a token bucket: it stores the "theoretical arrival time" of the
+ * next request, which encodes the token count and last refill in a single value, so
+ * acquiring never takes a lock. Keys are spread over shards that each hold at most
+ * maxKeys / shards buckets; an over-full shard drops its full (idle) buckets first, which
+ * is exact since a full bucket behaves like a missing one, then the least recently used.
+ */
+public class TokenBucketLimiter {
+
+    static final int SHARDS = 64;
+
+    private final LongSupplier clock;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxKeysPerShard;
+    private final Shard[] shards = new Shard[SHARDS];
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // capacity tokens at most, refilled at refillPerMinute tokens per minute
+    public TokenBucketLimiter(int capacity, int refillPerMinute, int maxKeys) {
+        this(capacity, refillPerMinute, maxKeys, System::nanoTime);
+    }
+
+    // The clock is System.nanoTime() outside tests
+    TokenBucketLimiter(int capacity, int refillPerMinute, int maxKeys, LongSupplier clock) {
+        this.clock = clock;
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, refillPerMinute);
+        this.burstNanos = intervalNanos * Math.max(0, capacity - 1);
+        this.maxKeysPerShard = Math.max(1, maxKeys / SHARDS);
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    /**
+     * Takes one token for the key. Returns 0 when allowed, otherwise how many
+     * nanoseconds until a token will be available.
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        Shard shard = shards[shardOf(key)];
+        Bucket bucket = shard.buckets.get(key);
+        if (bucket == null) {
+            // Sweep before inserting: a new bucket starts full, so the sweep would drop it along with its first token
+            if (shard.buckets.size() >= maxKeysPerShard) {
+                shard.evict(now);
+            }
+            bucket = shard.buckets.computeIfAbsent(key, k -> new Bucket(now));
+        }
+        bucket.lastSeen = now;
+        while (true) {
+            long tat = bucket.tat.get();
+            long next = Math.max(tat, now) + intervalNanos;
+            long wait = next - now - intervalNanos - burstNanos;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (bucket.tat.compareAndSet(tat, next)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    static int shardOf(String key) {
+        return (key.hashCode() & 0x7fffffff) % SHARDS;
+    }
+
+    public long getAllowed() {
+        return allowed.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.buckets.size();
+        }
+        return size;
+    }
+
+    private static final class Bucket {
+        // Theoretical arrival time: the bucket is full once it is in the past
+        final AtomicLong tat;
+        volatile long lastSeen;
+
+        Bucket(long now) {
+            this.tat = new AtomicLong(now);
+            this.lastSeen = now;
+        }
+    }
+
+    private final class Shard {
+        final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+        // Only one thread sweeps a shard; others skip rather than wait
+        final ReentrantLock sweeping = new ReentrantLock();
+
+        void evict(long now) {
+            if (!sweeping.tryLock()) {
+                return;
+            }
+            try {
+                buckets.entrySet().removeIf(entry -> {
+                    boolean idle = entry.getValue().tat.get() <= now;
+                    if (idle) {
+                        evictions.increment();
+                    }
+                    return idle;
+                });
+                // Still over: drop the least recently used tenth so the next sweep is far off
+                int excess = buckets.size() - maxKeysPerShard * 9 / 10;
+                if (excess > 0) {
+                    List<Map.Entry<String, Bucket>> entries = new ArrayList<>(buckets.entrySet());
+                    entries.sort(Comparator.comparingLong(entry -> entry.getValue().lastSeen));
+                    for (int i = 0; i < excess && i < entries.size(); i++) {
+                        if (buckets.remove(entries.get(i).getKey(), entries.get(i).getValue())) {
+                            evictions.increment();
+                        }
+                    }
+                }
+            } finally {
+                sweeping.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.taskassist.security;
+
+import com.taskassist.model.User;
+import com.taskassist.support.BoundedCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Bounded cache of verified tokens to the principal they resolved to.
+ * Entries are keyed by a SHA-256 digest of the raw token and never outlive
+ * the token's own expiration.
+ */
+@Component
+public class TokenPrincipalCache {
+
+    private BoundedCache<String, Entry> entries;
+
+    @Value("${application.security.jwt.cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${application.security.jwt.cache.ttl:300000}")
+    private long ttlMillis;
+
+    @PostConstruct
+    void init() {
+        entries = new BoundedCache<>(maxSize);
+    }
+
+    public UserDetails get(String token) {
+        Entry entry = entries.get(digest(token));
+        return entry == null ? null : entry.principal();
+    }
+
+    public void put(String token, UserDetails principal, long tokenExpiresAt) {
+        long expiresAt = Math.min(System.currentTimeMillis() + ttlMillis, tokenExpiresAt);
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        entries.put(digest(token), new Entry(principal, userIdOf(principal)), expiresAt);
+    }
+
+    public void invalidate(String token) {
+        entries.remove(digest(token));
+    }
+
+    public void invalidateUser(Integer userId) {
+        if (userId == null) {
+            return;
+        }
+        entries.removeIf(entry -> userId.equals(entry.userId()));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public long getHits() {
+        return entries.getHits();
+    }
+
+    public long getMisses() {
+        return entries.getMisses();
+    }
+
+    public long getEvictions() {
+        return entries.getEvictions();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static Integer userIdOf(UserDetails principal) {
+        return principal instanceof User user ? user.getId() : null;
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(UserDetails principal, Integer userId) {
+    }
+}
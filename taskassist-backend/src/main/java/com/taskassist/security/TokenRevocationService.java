@@ -0,0 +1,65 @@
+package com.taskassist.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory token revocation: a denylist of token ids (jti) kept until the
+ * token would have expired anyway, plus a per-user "tokens valid after" instant.
+ * Both checks are single hash lookups. The state is per instance and lost on restart, so
+ * behind a load balancer a revocation only holds on the node that recorded it.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private static final int PURGE_THRESHOLD = 1024;
+
+    // jti -> token expiration (epoch millis)
+    private final Map<String, Long> revokedTokenIds = new ConcurrentHashMap<>();
+
+    // userId -> tokens issued before this instant (epoch millis) are rejected
+    private final Map<Integer, Long> validAfter = new ConcurrentHashMap<>();
+
+    private final TokenPrincipalCache tokenPrincipalCache;
+
+    public void revoke(String token, Claims claims) {
+        tokenPrincipalCache.invalidate(token);
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            return;
+        }
+        if (revokedTokenIds.size() >= PURGE_THRESHOLD) {
+            purgeExpired();
+        }
+        revokedTokenIds.put(claims.getId(), claims.getExpiration().getTime());
+    }
+
+    public void revokeAllForUser(Integer userId) {
+        validAfter.put(userId, System.currentTimeMillis());
+        tokenPrincipalCache.invalidateUser(userId);
+    }
+
+    public boolean isRevoked(Claims claims) {
+        if (claims.getId() != null && revokedTokenIds.containsKey(claims.getId())) {
+            return true;
+        }
+        Integer userId = claims.get("id", Integer.class);
+        Long cutoff = userId == null ? null : validAfter.get(userId);
+        if (cutoff == null) {
+            return false;
+        }
+        Date issuedAt = claims.getIssuedAt();
+        // iat is truncated to seconds, so tokens issued in the same second as the cutoff are rejected too
+        return issuedAt == null || issuedAt.getTime() <= cutoff;
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revokedTokenIds.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+}
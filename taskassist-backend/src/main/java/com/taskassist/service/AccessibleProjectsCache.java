@@ -0,0 +1,140 @@
+package com.taskassist.service;
+
+import com.taskassist.dto.ProjectView;
+import com.taskassist.model.Project;
+import com.taskassist.model.Team;
+import com.taskassist.repository.ProjectRepository;
+import com.taskassist.support.AfterCommit;
+import com.taskassist.support.BoundedCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache of the projects each user can see (own projects plus public projects
+ * of their teams). Entries are dropped after commit for exactly the users a project or
+ * membership write can affect: the project owner and both members of its team, before
+ * and after the change.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccessibleProjectsCache {
+
+    private final ProjectRepository projectRepository;
+    private final TeamGraph teamGraph;
+
+    private BoundedCache<Integer, Entry> entries;
+
+    // Bumped on every invalidation; a load that raced with one is returned but not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${application.projects.accessible-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${application.projects.accessible-cache.ttl:600000}")
+    private long ttlMillis;
+
+    @PostConstruct
+    void init() {
+        entries = new BoundedCache<>(maxSize);
+    }
+
+    public List<ProjectView> getProjects(Integer userId) {
+        return get(userId).projects();
+    }
+
+    public Set<Integer> getProjectIds(Integer userId) {
+        return get(userId).ids();
+    }
+
+    // Captures who can see a project now; call before mutating it in place
+    public Set<Integer> audienceOf(Project project) {
+        Set<Integer> userIds = new HashSet<>();
+        if (project.getUserId() != null) {
+            userIds.add(project.getUserId());
+        }
+        if (project.getTeamId() != null) {
+            for (int member : teamGraph.membersOf(project.getTeamId())) {
+                userIds.add(member);
+            }
+        }
+        return userIds;
+    }
+
+    public void invalidateUsers(Collection<Integer> userIds) {
+        generation.incrementAndGet();
+        AfterCommit.run(() -> {
+            generation.incrementAndGet();
+            userIds.forEach(entries::remove);
+        });
+    }
+
+    public void invalidateTeam(Team team) {
+        Set<Integer> userIds = new HashSet<>();
+        addMembers(userIds, team);
+        invalidateUsers(userIds);
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public long getHits() {
+        return entries.getHits();
+    }
+
+    public long getMisses() {
+        return entries.getMisses();
+    }
+
+    public double getHitRatio() {
+        long hitCount = entries.getHits();
+        long total = hitCount + entries.getMisses();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    public long getEvictions() {
+        return entries.getEvictions();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Entry get(Integer userId) {
+        Entry entry = entries.get(userId);
+        if (entry != null) {
+            return entry;
+        }
+
+        long loadedAt = generation.get();
+        List<ProjectView> projects = projectRepository.findViewsByUserIdOrTeamMember(userId);
+        Set<Integer> ids = projects.stream().map(ProjectView::id).collect(Collectors.toUnmodifiableSet());
+        Entry loaded = new Entry(List.copyOf(projects), ids);
+        if (generation.get() == loadedAt) {
+            entries.put(userId, loaded, System.currentTimeMillis() + ttlMillis);
+        }
+        return loaded;
+    }
+
+    private static void addMembers(Set<Integer> userIds, Team team) {
+        if (team.getUserId1() != null) {
+            userIds.add(team.getUserId1());
+        }
+        if (team.getUserId2() != null) {
+            userIds.add(team.getUserId2());
+        }
+    }
+
+    private record Entry(List<ProjectView> projects, Set<Integer> ids) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.taskassist.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind for users.last_login. A login only records the time in memory; repeated
+ * logins of the same user before the next flush collapse into one entry, and each flush
+ * writes all pending users with a single JDBC batch UPDATE. A crash loses at most one
+ * flush interval of last-login times, which are informational only.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LastLoginRecorder {
+
+    private static final String UPDATE_LAST_LOGIN = "UPDATE users SET last_login = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Integer, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public void record(Integer userId) {
+        pending.merge(userId, LocalDateTime.now(), (previous, current) -> current.isAfter(previous) ? current : previous);
+    }
+
+    @Scheduled(fixedDelayString = "${application.users.last-login.flush-interval:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(pending.size());
+        for (Map.Entry<Integer, LocalDateTime> entry : pending.entrySet()) {
+            // Only drop the entry we are writing; a newer login that raced in stays for the next flush
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(new Object[] {Timestamp.valueOf(entry.getValue()), entry.getKey()});
+            }
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN, batch);
+        } catch (RuntimeException e) {
+            log.warn("Could not write last login for {} users: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+}
@@ -1,42 +1,82 @@
 package com.taskassist.service;
 
+import com.taskassist.dto.ProjectView;
 import com.taskassist.model.Project;
+import com.taskassist.model.Tombstone;
 import com.taskassist.repository.ProjectRepository;
+import com.taskassist.repository.TombstoneRepository;
+import com.taskassist.security.AccessScope;
+import com.taskassist.security.AccessScopes;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final AccessibleProjectsCache accessibleProjectsCache;
+    private final AccessScopes accessScopes;
     
-    public List<Project> getAllProjects() {
-        return projectRepository.findAll();
+    // Admins list every project; everyone else gets exactly what they can see, from the cache
+    public List<ProjectView> getAllProjects() {
+        AccessScope scope = accessScopes.current();
+        return scope.admin() ? projectRepository.findAllViews() : accessibleProjectsCache.getProjects(scope.userId());
     }
     
-    public Optional<Project> getProjectById(Integer id) {
-        return projectRepository.findById(id);
+    public Optional<ProjectView> getProjectById(Integer id) {
+        return projectRepository.findViewById(id, accessScopes.current());
     }
     
-    public List<Project> getProjectsByUserId(Integer userId) {
-        return projectRepository.findByUserId(userId);
+    public List<ProjectView> getProjectsByUserId(Integer userId) {
+        return projectRepository.findViewsByUserId(userId, accessScopes.current());
     }
     
-    public List<Project> getProjectsByUserIdOrTeamMember(Integer userId) {
-        return projectRepository.findProjectsByUserIdOrTeamMember(userId);
+    public List<ProjectView> getProjectsByUserIdOrTeamMember(Integer userId) {
+        if (!accessScopes.current().canActAs(userId)) {
+            throw new AccessDeniedException("Cannot list the projects of user " + userId);
+        }
+        return accessibleProjectsCache.getProjects(userId);
     }
     
+    @Transactional
     public Project createProject(Project project) {
-        return projectRepository.save(project);
+        AccessScope scope = accessScopes.current();
+        if (project.getUserId() == null) {
+            project.setUserId(scope.userId());
+        } else if (!scope.canActAs(project.getUserId())) {
+            throw new AccessDeniedException("Cannot create projects for user " + project.getUserId());
+        }
+        checkTeam(scope, project.getTeamId());
+        Project saved = projectRepository.save(project);
+        accessibleProjectsCache.invalidateUsers(accessibleProjectsCache.audienceOf(saved));
+        return saved;
     }
     
-    public Optional<Project> updateProject(Integer id, Project projectDetails) {
-        return projectRepository.findById(id)
+    // One SELECT plus one UPDATE of only the changed columns (@DynamicUpdate), guarded by the version column
+    @Transactional
+    public Optional<Project> updateProject(Integer id, Project projectDetails, Long expectedVersion) {
+        AccessScope scope = accessScopes.current();
+        checkTeam(scope, projectDetails.getTeamId());
+        return projectRepository.findOwnedById(id, scope)
             .map(existingProject -> {
+                if (expectedVersion != null && !expectedVersion.equals(existingProject.getVersion())) {
+                    throw new OptimisticLockingFailureException("Project " + id + " has been modified");
+                }
+                Set<Integer> audience = accessibleProjectsCache.audienceOf(existingProject);
+                Tombstone previous = Tombstone.of(existingProject);
+                boolean wasShared = Boolean.TRUE.equals(existingProject.getIsPublic());
+                Integer previousTeamId = existingProject.getTeamId();
+                
                 // Update only non-null fields
                 if (projectDetails.getName() != null) {
                     existingProject.setName(projectDetails.getName());
@@ -51,16 +91,46 @@ public class ProjectService {
                     existingProject.setIsPublic(projectDetails.getIsPublic());
                 }
                 
-                return projectRepository.save(existingProject);
+                Project saved = projectRepository.saveAndFlush(existingProject);
+                // Unshared or moved to another team: tell delta sync of the team members who lost it
+                if (wasShared && (!Boolean.TRUE.equals(saved.getIsPublic()) || !Objects.equals(previousTeamId, saved.getTeamId()))) {
+                    tombstoneRepository.save(previous);
+                }
+                // Owner and team members before and after, in case the team or visibility moved
+                audience.addAll(accessibleProjectsCache.audienceOf(saved));
+                accessibleProjectsCache.invalidateUsers(audience);
+                return saved;
             });
     }
     
+    @Transactional
     public boolean deleteProject(Integer id) {
-        return projectRepository.findById(id)
+        return projectRepository.findOwnedById(id, accessScopes.current())
             .map(project -> {
+                accessibleProjectsCache.invalidateUsers(accessibleProjectsCache.audienceOf(project));
                 projectRepository.delete(project);
+                tombstoneRepository.save(Tombstone.of(project));
                 return true;
             })
             .orElse(false);
     }
+    
+    // A team id is only accepted from its members; otherwise VISIBLE would show the row to that team
+    static void checkTeam(AccessScope scope, Integer teamId) {
+        if (teamId != null && !scope.inTeam(teamId)) {
+            throw new AccessDeniedException("Not a member of team " + teamId);
+        }
+    }
+    
+    // A task may only be filed under a project the caller can see; admins may use any
+    boolean canUseProject(AccessScope scope, Integer projectId) {
+        return projectId == null || scope.admin()
+            || accessibleProjectsCache.getProjectIds(scope.userId()).contains(projectId);
+    }
+    
+    void checkProject(AccessScope scope, Integer projectId) {
+        if (!canUseProject(scope, projectId)) {
+            throw new AccessDeniedException("Cannot use project " + projectId);
+        }
+    }
 }
\ No newline at end of file
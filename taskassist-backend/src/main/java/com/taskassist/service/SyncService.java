@@ -0,0 +1,119 @@
+package com.taskassist.service;
+
+import com.taskassist.dto.ProjectView;
+import com.taskassist.dto.SyncResponse;
+import com.taskassist.dto.TaskView;
+import com.taskassist.exception.ValidationException;
+import com.taskassist.model.Tombstone;
+import com.taskassist.repository.ProjectRepository;
+import com.taskassist.repository.TaskRepository;
+import com.taskassist.repository.TombstoneRepository;
+import com.taskassist.security.AccessScope;
+import com.taskassist.security.AccessScopes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync over the updated_at columns and delete tombstones.
+ * The cursor is the server clock (epoch millis) when the previous sync started. Rows are
+ * matched from a little before it, because a transaction that committed after that sync
+ * may carry an earlier updated_at; clients upsert by id, so the overlap is harmless.
+ * Tasks are scoped with the read API's VISIBLE predicate. A row that leaves someone's view
+ * is tombstoned for its previous audience, and a team change forces a reset.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final AccessScopes accessScopes;
+
+    @Value("${application.sync.overlap:5000}")
+    private long overlapMillis;
+
+    @Value("${application.sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+
+    @Transactional(readOnly = true)
+    public SyncResponse changesSince(Integer userId, String cursor) {
+        LocalDateTime now = LocalDateTime.now();
+        String nextCursor = Long.toString(toMillis(now));
+        AccessScope scope = accessScopes.current();
+
+        LocalDateTime since = parseCursor(cursor);
+        // Without a cursor, or one older than the tombstones we keep, deletes could be missed: start over
+        if (since == null || since.isBefore(now.minusDays(tombstoneRetentionDays))) {
+            return reset(nextCursor, userId, scope);
+        }
+
+        LocalDateTime from = since.minusNanos(overlapMillis * 1_000_000);
+        List<TaskView> tasks = taskRepository.findChangedSince(from, scope);
+        List<ProjectView> projects = projectRepository.findViewsChangedSince(userId, from);
+
+        // A tombstone also goes to everyone who could see the row before a move; those who
+        // still can got the row itself above, so the row wins
+        Set<Integer> taskIds = tasks.stream().map(TaskView::id).collect(Collectors.toSet());
+        Set<Integer> projectIds = projects.stream().map(ProjectView::id).collect(Collectors.toSet());
+        List<Integer> deletedTaskIds = new ArrayList<>();
+        List<Integer> deletedProjectIds = new ArrayList<>();
+        for (Tombstone tombstone : tombstoneRepository.findVisibleSince(from, scope)) {
+            if (Tombstone.TEAM.equals(tombstone.getEntityType()) && userId.equals(tombstone.getUserId())) {
+                // Gaining or losing a team changes visibility without touching updated_at
+                return reset(nextCursor, userId, scope);
+            } else if (Tombstone.TASK.equals(tombstone.getEntityType()) && !taskIds.contains(tombstone.getEntityId())) {
+                deletedTaskIds.add(tombstone.getEntityId());
+            } else if (Tombstone.PROJECT.equals(tombstone.getEntityType()) && !projectIds.contains(tombstone.getEntityId())) {
+                deletedProjectIds.add(tombstone.getEntityId());
+            }
+        }
+        return new SyncResponse(nextCursor, false, tasks, projects, deletedTaskIds, deletedProjectIds);
+    }
+
+    private SyncResponse reset(String nextCursor, Integer userId, AccessScope scope) {
+        return new SyncResponse(nextCursor, true,
+                taskRepository.findVisibleTo(scope),
+                projectRepository.findViewsByUserIdOrTeamMember(userId),
+                List.of(), List.of());
+    }
+
+    // Tombstones only need to outlive the oldest cursor we still honour
+    @Scheduled(fixedDelayString = "${application.sync.tombstone-purge-interval:3600000}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = tombstoneRepository.deleteOlderThan(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        if (purged > 0) {
+            log.debug("Purged {} sync tombstones", purged);
+        }
+    }
+
+    private static LocalDateTime parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(cursor.trim())), ZoneId.systemDefault());
+        } catch (NumberFormatException e) {
+            throw new ValidationException(Map.of("since", "Invalid sync cursor"));
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,218 @@
+package com.taskassist.service;
+
+import com.taskassist.dto.BulkItemResult;
+import com.taskassist.dto.TaskRequest;
+import com.taskassist.exception.ValidationException;
+import com.taskassist.model.Task;
+import com.taskassist.model.Tombstone;
+import com.taskassist.repository.TaskRepository;
+import com.taskassist.repository.TombstoneRepository;
+import com.taskassist.security.AccessScope;
+import com.taskassist.security.AccessScopes;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Multi-task writes in one transaction: batched inserts/updates and set-based deletes/completions
+@Service
+@RequiredArgsConstructor
+public class TaskBulkService {
+
+    private final TaskRepository taskRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final TaskSummaryCounters taskSummaryCounters;
+    private final ProjectService projectService;
+    private final Validator validator;
+    private final AccessScopes accessScopes;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${application.tasks.bulk.max-size:1000}")
+    private int maxBulkSize;
+
+    @Transactional
+    public List<BulkItemResult> createTasks(List<TaskRequest> requests) {
+        checkSize(requests.size());
+
+        AccessScope scope = accessScopes.current();
+        List<BulkItemResult> results = new ArrayList<>(requests.size());
+        List<Task> toSave = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            Map<String, String> errors = validate(requests.get(i), scope);
+            if (errors.isEmpty()) {
+                toSave.add(toTask(requests.get(i)));
+                indexes.add(i);
+                results.add(null);
+            } else {
+                results.add(BulkItemResult.invalid(i, null, errors));
+            }
+        }
+
+        // Sequence ids are allocated in blocks, so saveAll turns into batched INSERTs at flush
+        List<Task> saved = taskRepository.saveAll(toSave);
+        for (int i = 0; i < saved.size(); i++) {
+            Task task = saved.get(i);
+            results.set(indexes.get(i), BulkItemResult.ok(indexes.get(i), task.getId(), "created"));
+            taskSummaryCounters.recordChange(null, taskSummaryCounters.capture(task));
+            eventPublisher.publishEvent(TaskChangedEvent.created(task));
+        }
+        return results;
+    }
+
+    @Transactional
+    public List<BulkItemResult> updateTasks(List<Task> changes) {
+        checkSize(changes.size());
+
+        Set<Integer> ids = changes.stream()
+            .map(Task::getId)
+            .filter(id -> id != null)
+            .collect(Collectors.toSet());
+        AccessScope scope = accessScopes.current();
+        // Tasks outside the caller's scope are reported as not found, like missing ones
+        Map<Integer, Task> existing = taskRepository.findAllVisibleById(ids, scope).stream()
+            .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<BulkItemResult> results = new ArrayList<>(changes.size());
+        List<Map.Entry<Task, TaskChangedEvent.Audience>> updated = new ArrayList<>();
+        List<Tombstone> moved = new ArrayList<>();
+        for (int i = 0; i < changes.size(); i++) {
+            Task details = changes.get(i);
+            if (details.getId() == null) {
+                results.add(BulkItemResult.invalid(i, null, Map.of("id", "Task ID is required")));
+                continue;
+            }
+            Task task = existing.get(details.getId());
+            if (task == null) {
+                results.add(BulkItemResult.notFound(i, details.getId()));
+                continue;
+            }
+            if (details.getVersion() != null && !details.getVersion().equals(task.getVersion())) {
+                results.add(BulkItemResult.conflict(i, task.getId()));
+                continue;
+            }
+            if (details.getTeamId() != null && !scope.inTeam(details.getTeamId())) {
+                results.add(BulkItemResult.invalid(i, task.getId(), Map.of("teamId", "Not a member of team " + details.getTeamId())));
+                continue;
+            }
+            if (details.getProjectId() != null && !details.getProjectId().equals(task.getProjectId())
+                    && !projectService.canUseProject(scope, details.getProjectId())) {
+                results.add(BulkItemResult.invalid(i, task.getId(), Map.of("projectId", "Cannot use project " + details.getProjectId())));
+                continue;
+            }
+            TaskSummaryCounters.Snapshot before = taskSummaryCounters.capture(task);
+            TaskChangedEvent.Audience audience = TaskChangedEvent.Audience.of(task);
+            Tombstone previous = Tombstone.of(task);
+            TaskService.applyChanges(task, details);
+            if (!TaskChangedEvent.Audience.of(task).equals(audience)) {
+                moved.add(previous);
+            }
+            taskSummaryCounters.recordChange(before, taskSummaryCounters.capture(task));
+            updated.add(Map.entry(task, audience));
+            results.add(BulkItemResult.ok(i, task.getId(), "updated"));
+        }
+        // Managed entities go out as batched UPDATEs; flushing here lets the events carry the new versions
+        taskRepository.flush();
+        tombstoneRepository.saveAll(moved);
+        updated.forEach(entry -> eventPublisher.publishEvent(TaskChangedEvent.updated(entry.getValue(), entry.getKey())));
+        return results;
+    }
+
+    @Transactional
+    public List<BulkItemResult> deleteTasks(List<Integer> ids) {
+        checkSize(ids.size());
+
+        Map<Integer, Task> existing = taskRepository.findAllVisibleById(new HashSet<>(ids), accessScopes.current()).stream()
+            .collect(Collectors.toMap(Task::getId, Function.identity()));
+        if (!existing.isEmpty()) {
+            taskRepository.deleteAllByIdInBatch(existing.keySet());
+            tombstoneRepository.saveAll(existing.values().stream().map(Tombstone::of).toList());
+        }
+        existing.values().forEach(task -> {
+            taskSummaryCounters.recordChange(taskSummaryCounters.capture(task), null);
+            eventPublisher.publishEvent(TaskChangedEvent.deleted(task));
+        });
+
+        return itemResults(ids, existing.keySet(), "deleted");
+    }
+
+    @Transactional
+    public List<BulkItemResult> completeTasks(List<Integer> ids, boolean completed) {
+        checkSize(ids.size());
+
+        Set<Integer> requested = new HashSet<>(ids);
+        Set<Integer> found = new HashSet<>(taskRepository.findExistingIds(requested, accessScopes.current()));
+        if (!found.isEmpty()) {
+            int changed = taskRepository.updateCompleted(found, completed, LocalDateTime.now());
+            taskSummaryCounters.recordCompletedChange(completed ? changed : -changed);
+            if (changed > 0) {
+                // The set-based UPDATE bypassed the persistence context, so read the new state back for subscribers
+                taskRepository.findAllById(found).forEach(task ->
+                    eventPublisher.publishEvent(TaskChangedEvent.updated(TaskChangedEvent.Audience.of(task), task)));
+            }
+        }
+
+        return itemResults(ids, found, completed ? "completed" : "reopened");
+    }
+
+    static Task toTask(TaskRequest request) {
+        return Task.builder()
+            .title(request.getTitle())
+            .description(request.getDescription())
+            .completed(request.getCompleted())
+            .projectId(request.getProjectId())
+            .dueDate(request.getDueDate())
+            .priority(request.getPriority())
+            .starred(request.getStarred())
+            .assignedTo(request.getAssignedTo())
+            .assignedBy(request.getAssignedBy())
+            .userId(request.getUserId())
+            .teamId(request.getTeamId())
+            .build();
+    }
+
+    Map<String, String> validate(TaskRequest request, AccessScope scope) {
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<TaskRequest> violation : validator.validate(request)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        if (request.getUserId() != null && !scope.canActAs(request.getUserId())) {
+            errors.put("userId", "Cannot create tasks for another user");
+        }
+        if (request.getTeamId() != null && !scope.inTeam(request.getTeamId())) {
+            errors.put("teamId", "Not a member of team " + request.getTeamId());
+        }
+        if (!projectService.canUseProject(scope, request.getProjectId())) {
+            errors.put("projectId", "Cannot use project " + request.getProjectId());
+        }
+        return errors;
+    }
+
+    private static List<BulkItemResult> itemResults(List<Integer> ids, Set<Integer> found, String status) {
+        List<BulkItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Integer id = ids.get(i);
+            results.add(found.contains(id) ? BulkItemResult.ok(i, id, status) : BulkItemResult.notFound(i, id));
+        }
+        return results;
+    }
+
+    private void checkSize(int size) {
+        if (size > maxBulkSize) {
+            throw new ValidationException(Map.of("items", "At most " + maxBulkSize + " items per bulk request"));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.taskassist.service;
+
+import com.taskassist.dto.CalendarDay;
+import com.taskassist.dto.CalendarTaskView;
+import com.taskassist.exception.ValidationException;
+import com.taskassist.repository.TaskRepository;
+import com.taskassist.security.AccessScopes;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Due-date views of a user's tasks: per-day calendar cells and an iCalendar feed
+@Service
+@RequiredArgsConstructor
+public class TaskCalendarService {
+
+    private static final DateTimeFormatter ICS_LOCAL = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter ICS_UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final TaskRepository taskRepository;
+    private final AccessScopes accessScopes;
+
+    @Value("${application.tasks.calendar.max-days:92}")
+    private int maxDays;
+
+    @Value("${application.tasks.calendar.max-per-day:20}")
+    private int maxPerDay;
+
+    @Value("${application.tasks.calendar.ics-max-days:366}")
+    private int icsMaxDays;
+
+    // from and to are both inclusive; days without tasks are left out
+    @Transactional(readOnly = true)
+    public List<CalendarDay> getCalendar(Integer userId, LocalDate from, LocalDate to) {
+        checkRange(from, to, maxDays);
+        checkAccess(userId);
+        List<CalendarTaskView> tasks = taskRepository.findCalendar(userId, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+
+        // Rows arrive ordered by due date, so each day is one contiguous run
+        List<CalendarDay> days = new ArrayList<>();
+        int start = 0;
+        while (start < tasks.size()) {
+            LocalDate date = tasks.get(start).dueDate().toLocalDate();
+            int end = start;
+            long completed = 0;
+            while (end < tasks.size() && tasks.get(end).dueDate().toLocalDate().equals(date)) {
+                if (Boolean.TRUE.equals(tasks.get(end).completed())) {
+                    completed++;
+                }
+                end++;
+            }
+            List<CalendarTaskView> shown = List.copyOf(tasks.subList(start, Math.min(end, start + maxPerDay)));
+            days.add(new CalendarDay(date, end - start, completed, shown));
+            start = end;
+        }
+        return days;
+    }
+
+    // Called before streaming starts, while an error can still become a 400/403
+    public void checkIcsAccess(Integer userId, LocalDate from, LocalDate to) {
+        checkRange(from, to, icsMaxDays);
+        checkAccess(userId);
+    }
+
+    // A calendar holds everything a user owns or is assigned, so only they (or an admin) may read it
+    private void checkAccess(Integer userId) {
+        if (!accessScopes.current().canActAs(userId)) {
+            throw new AccessDeniedException("Cannot view the calendar of user " + userId);
+        }
+    }
+
+    /**
+     * Writes the window as an iCalendar (RFC 5545) feed, one VEVENT per task, straight
+     * from a database cursor so memory use does not grow with the number of tasks.
+     */
+    @Transactional(readOnly = true)
+    public void writeIcs(Integer userId, LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        String stamp = LocalDateTime.now(ZoneOffset.UTC).format(ICS_UTC);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        line(writer, "BEGIN:VCALENDAR");
+        line(writer, "VERSION:2.0");
+        line(writer, "PRODID:-//TaskAssist//Tasks//EN");
+        line(writer, "CALSCALE:GREGORIAN");
+        try (Stream<CalendarTaskView> tasks = taskRepository.streamCalendar(userId, from.atStartOfDay(),
+                to.plusDays(1).atStartOfDay())) {
+            for (CalendarTaskView task : (Iterable<CalendarTaskView>) tasks::iterator) {
+                line(writer, "BEGIN:VEVENT");
+                line(writer, "UID:task-" + task.id() + "@taskassist");
+                line(writer, "DTSTAMP:" + stamp);
+                // Floating local time, matching how due dates are stored
+                line(writer, "DTSTART:" + task.dueDate().format(ICS_LOCAL));
+                line(writer, "SUMMARY:" + escape(task.title()));
+                if (task.priority() != null) {
+                    line(writer, "PRIORITY:" + icsPriority(task.priority()));
+                }
+                if (Boolean.TRUE.equals(task.completed())) {
+                    line(writer, "X-TASKASSIST-COMPLETED:TRUE");
+                }
+                line(writer, "END:VEVENT");
+            }
+        }
+        line(writer, "END:VCALENDAR");
+        writer.flush();
+    }
+
+    private void checkRange(LocalDate from, LocalDate to, int limit) {
+        if (to.isBefore(from)) {
+            throw new ValidationException(Map.of("to", "Must not be before from"));
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= limit) {
+            throw new ValidationException(Map.of("to", "Range is limited to " + limit + " days"));
+        }
+    }
+
+    // Content lines are folded at 75 octets, continuation lines start with a space
+    private static void line(Writer writer, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= 75) {
+            writer.write(content);
+            writer.write("\r\n");
+            return;
+        }
+        int octets = 0;
+        int limit = 75;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int width = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8).length;
+            if (octets + width > limit) {
+                writer.write("\r\n ");
+                octets = 0;
+                limit = 74;
+            }
+            writer.write(Character.toChars(codePoint));
+            octets += width;
+            i += Character.charCount(codePoint);
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n")
+                .replace("\r", "\\n");
+    }
+
+    // RFC 5545: 1 is highest, 5 medium, 9 lowest
+    private static int icsPriority(String priority) {
+        return switch (priority.toLowerCase()) {
+            case "high" -> 1;
+            case "low" -> 9;
+            default -> 5;
+        };
+    }
+}
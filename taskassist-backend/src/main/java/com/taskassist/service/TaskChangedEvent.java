@@ -0,0 +1,60 @@
+package com.taskassist.service;
+
+import com.taskassist.dto.TaskView;
+import com.taskassist.model.Task;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Published by the task services for every task write and delivered to stream subscribers after commit.
+ * userIds/teamIds cover the task both before and after the change, so a reassigned task
+ * still reaches its previous assignee.
+ */
+public record TaskChangedEvent(String type, TaskView task, Set<Integer> userIds, Set<Integer> teamIds) {
+
+    public static final String CREATED = "task.created";
+    public static final String UPDATED = "task.updated";
+    public static final String DELETED = "task.deleted";
+
+    public static TaskChangedEvent created(Task task) {
+        return of(CREATED, task, Audience.of(task));
+    }
+
+    public static TaskChangedEvent updated(Audience before, Task task) {
+        return of(UPDATED, task, before);
+    }
+
+    public static TaskChangedEvent deleted(Task task) {
+        return of(DELETED, task, Audience.of(task));
+    }
+
+    private static TaskChangedEvent of(String type, Task task, Audience extra) {
+        Audience audience = Audience.of(task);
+        Set<Integer> userIds = new HashSet<>(audience.userIds());
+        userIds.addAll(extra.userIds());
+        Set<Integer> teamIds = new HashSet<>(audience.teamIds());
+        teamIds.addAll(extra.teamIds());
+        return new TaskChangedEvent(type, TaskView.from(task), Set.copyOf(userIds), Set.copyOf(teamIds));
+    }
+
+    // Who a task concerns at one point in time; capture it before mutating an entity in place
+    public record Audience(Set<Integer> userIds, Set<Integer> teamIds) {
+
+        public static Audience of(Task task) {
+            Set<Integer> userIds = new HashSet<>();
+            addIfPresent(userIds, task.getUserId());
+            addIfPresent(userIds, task.getAssignedTo());
+            addIfPresent(userIds, task.getAssignedBy());
+            Set<Integer> teamIds = new HashSet<>();
+            addIfPresent(teamIds, task.getTeamId());
+            return new Audience(userIds, teamIds);
+        }
+
+        private static void addIfPresent(Set<Integer> ids, Integer id) {
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.taskassist.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes task changes to connected clients over server-sent events.
+ * Subscribers are registered under their user id and, optionally, a team id, so an event
+ * is only delivered to the users and teams it concerns. Recent events are kept in a small
+ * ring buffer so a reconnecting client can resume from its Last-Event-ID.
+ * Each subscriber has an outbox written by one sender at a time, and events are queued
+ * under the same lock that numbers them, so every client sees ids in increasing order.
+ */
+@Slf4j
+@Component
+public class TaskEventStream {
+
+    static final String RESET_EVENT = "stream.reset";
+
+    private final Map<Integer, Set<Subscriber>> byUser = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Subscriber>> byTeam = new ConcurrentHashMap<>();
+    private final Deque<Sent> recent = new ArrayDeque<>();
+    // Taken after every task write's commit; a lock rather than synchronized, so waiters never pin a carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long lastEventId;
+
+    @Value("${application.tasks.stream.timeout:1800000}")
+    private long timeoutMillis;
+
+    @Value("${application.tasks.stream.heartbeat:25000}")
+    private long heartbeatMillis;
+
+    @Value("${application.tasks.stream.replay-size:1024}")
+    private int replaySize;
+
+    // Sends block on slow clients, so each subscriber's outbox is drained on its own virtual thread
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private ScheduledExecutorService heartbeat;
+
+    @PostConstruct
+    void init() {
+        heartbeat = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("task-stream-heartbeat").factory());
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        sender.shutdownNow();
+        allSubscribers().forEach(subscriber -> subscriber.emitter().complete());
+    }
+
+    public SseEmitter subscribe(Integer userId, Integer teamId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, teamId, emitter);
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(e -> unregister(subscriber));
+
+        // Register and queue the replay under the lock that publishes, so live events
+        // neither slip in ahead of the replay nor get lost between the two
+        lock.lock();
+        try {
+            add(byUser, userId, subscriber);
+            if (teamId != null) {
+                add(byTeam, teamId, subscriber);
+            }
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        // Numbering and queueing are one step, so outboxes fill in id order; enqueue never blocks
+        lock.lock();
+        try {
+            Sent sent = remember(event);
+
+            Set<Subscriber> targets = new HashSet<>();
+            for (Integer userId : event.userIds()) {
+                targets.addAll(byUser.getOrDefault(userId, Set.of()));
+            }
+            for (Integer teamId : event.teamIds()) {
+                targets.addAll(byTeam.getOrDefault(teamId, Set.of()));
+            }
+            for (Subscriber subscriber : targets) {
+                enqueue(subscriber, event(sent));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int subscriberCount() {
+        return allSubscribers().size();
+    }
+
+    // Callers hold the stream's lock
+    private Sent remember(TaskChangedEvent event) {
+        Sent sent = new Sent(++lastEventId, event);
+        recent.addLast(sent);
+        while (recent.size() > replaySize) {
+            recent.removeFirst();
+        }
+        return sent;
+    }
+
+    // Callers hold the stream's lock
+    private void replay(Subscriber subscriber, long lastSeen) {
+        // The buffer no longer reaches back to the client's last event (or the server restarted)
+        boolean gap = lastSeen > lastEventId || (!recent.isEmpty() && recent.peekFirst().id() > lastSeen + 1)
+                || (recent.isEmpty() && lastSeen < lastEventId);
+        if (gap) {
+            // Tells the client to refetch its task lists instead of trusting incremental events
+            enqueue(subscriber, SseEmitter.event().name(RESET_EVENT).data(Map.of("reason", "replay unavailable")));
+            return;
+        }
+        List<Sent> missed = new ArrayList<>();
+        for (Sent sent : recent) {
+            if (sent.id() > lastSeen && concerns(subscriber, sent.event())) {
+                missed.add(sent);
+            }
+        }
+        missed.forEach(sent -> enqueue(subscriber, event(sent)));
+    }
+
+    private static boolean concerns(Subscriber subscriber, TaskChangedEvent event) {
+        return event.userIds().contains(subscriber.userId())
+                || (subscriber.teamId() != null && event.teamIds().contains(subscriber.teamId()));
+    }
+
+    private static SseEmitter.SseEventBuilder event(Sent sent) {
+        return SseEmitter.event()
+                .id(Long.toString(sent.id()))
+                .name(sent.event().type())
+                .data(sent.event().task());
+    }
+
+    private void sendHeartbeat() {
+        for (Subscriber subscriber : allSubscribers()) {
+            enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    // Whoever takes pending from 0 starts the drain; the drain exits only when it brings it back
+    // to 0, so at most one thread writes to a client and nothing queued is left behind
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed) {
+            return;
+        }
+        subscriber.outbox.add(event);
+        int pending = subscriber.pending.getAndIncrement();
+        if (pending == 0) {
+            sender.execute(() -> drain(subscriber));
+        } else if (pending > replaySize) {
+            // Too far behind to catch up; it reconnects and resumes from its Last-Event-ID
+            drop(subscriber, new IllegalStateException("outbox overflow"));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            SseEmitter.SseEventBuilder event = subscriber.outbox.poll();
+            if (event != null && !subscriber.closed) {
+                try {
+                    subscriber.emitter().send(event);
+                } catch (IOException | IllegalStateException e) {
+                    drop(subscriber, e);
+                }
+            }
+        } while (subscriber.pending.decrementAndGet() > 0);
+    }
+
+    private void drop(Subscriber subscriber, Exception cause) {
+        if (subscriber.closed) {
+            return;
+        }
+        subscriber.closed = true;
+        log.debug("Dropping task stream subscriber for user {}: {}", subscriber.userId(), cause.getMessage());
+        unregister(subscriber);
+        subscriber.emitter().completeWithError(cause);
+    }
+
+    private void unregister(Subscriber subscriber) {
+        remove(byUser, subscriber.userId(), subscriber);
+        if (subscriber.teamId() != null) {
+            remove(byTeam, subscriber.teamId(), subscriber);
+        }
+    }
+
+    // Both sides run inside compute, so an add never lands in a set a concurrent remove just
+    // emptied and unmapped
+    private static void add(Map<Integer, Set<Subscriber>> registry, Integer key, Subscriber subscriber) {
+        registry.compute(key, (k, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+    }
+
+    private static void remove(Map<Integer, Set<Subscriber>> registry, Integer key, Subscriber subscriber) {
+        registry.compute(key, (k, subscribers) -> {
+            if (subscribers == null) {
+                return null;
+            }
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private Set<Subscriber> allSubscribers() {
+        Set<Subscriber> all = ConcurrentHashMap.newKeySet();
+        byUser.values().forEach(all::addAll);
+        return all;
+    }
+
+    private record Sent(long id, TaskChangedEvent event) {
+    }
+
+    // Identity semantics: two connections from the same user are distinct subscribers
+    private static final class Subscriber {
+        private final Integer userId;
+        private final Integer teamId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> outbox = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean closed;
+
+        private Subscriber(Integer userId, Integer teamId, SseEmitter emitter) {
+            this.userId = userId;
+            this.teamId = teamId;
+            this.emitter = emitter;
+        }
+
+        Integer userId() {
+            return userId;
+        }
+
+        Integer teamId() {
+            return teamId;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+    }
+}
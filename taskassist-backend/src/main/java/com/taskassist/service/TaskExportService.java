@@ -0,0 +1,126 @@
+package com.taskassist.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskassist.dto.TaskView;
+import com.taskassist.exception.ValidationException;
+import com.taskassist.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Streams task exports row by row from a database cursor. Rows are read as TaskView
+ * projections, which the persistence context never tracks, so heap use stays flat
+ * however many tasks are exported.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskExportService {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    private static final String[] CSV_HEADER = {
+        "id", "title", "description", "completed", "projectId", "dueDate", "priority", "starred",
+        "assignedTo", "assignedBy", "userId", "createdAt", "updatedAt", "teamId", "version"
+    };
+
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+
+    public static String checkFormat(String format) {
+        String normalized = format == null ? CSV : format.toLowerCase(Locale.ROOT);
+        if (!CSV.equals(normalized) && !NDJSON.equals(normalized)) {
+            throw new ValidationException(Map.of("format", "Must be csv or ndjson"));
+        }
+        return normalized;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportTeamTasks(Integer teamId, String format, OutputStream out) throws IOException {
+        try (Stream<TaskView> tasks = taskRepository.streamByTeamId(teamId)) {
+            write(tasks, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportUserTasks(Integer userId, String format, OutputStream out) throws IOException {
+        try (Stream<TaskView> tasks = taskRepository.streamVisibleTo(userId)) {
+            write(tasks, format, out);
+        }
+    }
+
+    private void write(Stream<TaskView> tasks, String format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (CSV.equals(format)) {
+            writeCsvRow(writer, CSV_HEADER);
+        }
+        for (TaskView task : (Iterable<TaskView>) tasks::iterator) {
+            if (CSV.equals(format)) {
+                writeCsvRow(writer, csvValues(task));
+            } else {
+                writer.write(objectMapper.writeValueAsString(task));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    private static Object[] csvValues(TaskView task) {
+        return new Object[] {
+            task.id(), task.title(), task.description(), task.completed(), task.projectId(), task.dueDate(),
+            task.priority(), task.starred(), task.assignedTo(), task.assignedBy(), task.userId(),
+            task.createdAt(), task.updatedAt(), task.teamId(), task.version()
+        };
+    }
+
+    // RFC 4180 quoting
+    private static void writeCsvRow(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] == null) {
+                continue;
+            }
+            String value = values[i] instanceof String text ? neutralizeFormula(text) : values[i].toString();
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // User-entered text starting with a formula character would be evaluated by spreadsheet apps.
+    // Apostrophes already in front of one get another too, so restoreFormula can always strip exactly one
+    private static String neutralizeFormula(String text) {
+        return looksLikeFormula(text) ? "'" + text : text;
+    }
+
+    // Inverse of neutralizeFormula, for CSV cells read back by the import
+    static String restoreFormula(String text) {
+        return text.startsWith("'") && looksLikeFormula(text) ? text.substring(1) : text;
+    }
+
+    private static boolean looksLikeFormula(String text) {
+        int start = 0;
+        while (start < text.length() && text.charAt(start) == '\'') {
+            start++;
+        }
+        return start < text.length() && "=+-@\t\r".indexOf(text.charAt(start)) >= 0;
+    }
+}
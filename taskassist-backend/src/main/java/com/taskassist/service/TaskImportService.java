@@ -0,0 +1,412 @@
+package com.taskassist.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskassist.dto.BulkItemResult;
+import com.taskassist.dto.ImportResult;
+import com.taskassist.dto.ProjectRequest;
+import com.taskassist.dto.TaskRequest;
+import com.taskassist.security.AccessScope;
+import com.taskassist.security.AccessScopes;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Streamed CSV/NDJSON import of tasks and projects. Rows are parsed and validated one at
+ * a time against the TaskRequest/ProjectRequest constraints, then written with JDBC batch
+ * inserts (rewritten into multi-row INSERTs by the driver), committing every batch-size
+ * rows so memory and transaction size stay bounded. Invalid rows are skipped and reported,
+ * including rows pointing at projects the caller cannot use or users that do not exist; a
+ * batch the database still refuses is retried row by row so only the offending rows fail.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskImportService {
+
+    // Must match the allocationSize of tasks_seq on Task
+    private static final int TASK_ID_BLOCK = 50;
+
+    private static final String INSERT_TASK = "INSERT INTO tasks (id, title, description, completed, project_id, due_date, " +
+            "priority, starred, assigned_to, assigned_by, user_id, team_id, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_PROJECT = "INSERT INTO projects (name, color, user_id, team_id, is_public, " +
+            "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TaskSummaryCounters taskSummaryCounters;
+    private final AccessibleProjectsCache accessibleProjectsCache;
+    private final ProjectService projectService;
+    private final AccessScopes accessScopes;
+
+    @Value("${application.tasks.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${application.tasks.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public ImportResult importTasks(InputStream in, String format) throws IOException {
+        AccessScope scope = accessScopes.current();
+        ImportResult result = importRows(in, format, TaskRequest.class, (task, errors) -> {
+            checkOwnerAndTeam(scope, task.getUserId(), task.getTeamId(), errors);
+            if (!projectService.canUseProject(scope, task.getProjectId())) {
+                errors.put("projectId", "Cannot use project " + task.getProjectId());
+            }
+            if (task.getAssignedBy() != null && !scope.canActAs(task.getAssignedBy())) {
+                errors.put("assignedBy", "Cannot assign on behalf of another user");
+            }
+        }, task -> userRefs("userId", task.getUserId(), "assignedTo", task.getAssignedTo(),
+                "assignedBy", task.getAssignedBy()), this::insertTasks);
+        if (result.imported() > 0) {
+            // Rows bypassed the entity listeners, so let the counters reseed from the table
+            taskSummaryCounters.invalidate();
+        }
+        return result;
+    }
+
+    public ImportResult importProjects(InputStream in, String format) throws IOException {
+        AccessScope scope = accessScopes.current();
+        ImportResult result = importRows(in, format, ProjectRequest.class,
+                (project, errors) -> checkOwnerAndTeam(scope, project.getUserId(), project.getTeamId(), errors),
+                project -> userRefs("userId", project.getUserId()), this::insertProjects);
+        if (result.imported() > 0) {
+            accessibleProjectsCache.clear();
+        }
+        return result;
+    }
+
+    // Rows owned by someone the caller cannot act as, or placed in a team the caller is not in,
+    // are rejected like invalid ones
+    private static void checkOwnerAndTeam(AccessScope scope, Integer userId, Integer teamId, Map<String, String> errors) {
+        if (userId != null && !scope.canActAs(userId)) {
+            errors.put("userId", "Cannot import rows for another user");
+        }
+        if (teamId != null && !scope.inTeam(teamId)) {
+            errors.put("teamId", "Not a member of team " + teamId);
+        }
+    }
+
+    // Field name -> referenced user id, for the per-batch existence check; nulls are left out
+    private static Map<String, Integer> userRefs(Object... fieldsAndIds) {
+        Map<String, Integer> refs = new LinkedHashMap<>();
+        for (int i = 0; i < fieldsAndIds.length; i += 2) {
+            if (fieldsAndIds[i + 1] != null) {
+                refs.put((String) fieldsAndIds[i], (Integer) fieldsAndIds[i + 1]);
+            }
+        }
+        return refs;
+    }
+
+    private <T> ImportResult importRows(InputStream in, String format, Class<T> type, BiConsumer<T, Map<String, String>> check,
+                                        Function<T, Map<String, Integer>> users, Consumer<List<T>> insert) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        RowSource source = TaskExportService.CSV.equals(format) ? new CsvRows(reader) : new NdjsonRows(reader);
+
+        List<Pending<T>> batch = new ArrayList<>(batchSize);
+        Report report = new Report();
+        int rows = 0;
+        int imported = 0;
+
+        Row row;
+        while ((row = source.next()) != null) {
+            int index = rows++;
+            Map<String, String> rowErrors = new HashMap<>();
+            T request = null;
+            if (row.error() != null) {
+                rowErrors.put("row", "Unreadable row: " + row.error());
+            } else {
+                try {
+                    request = objectMapper.convertValue(row.values(), type);
+                    for (ConstraintViolation<T> violation : validator.validate(request)) {
+                        rowErrors.put(violation.getPropertyPath().toString(), violation.getMessage());
+                    }
+                    check.accept(request, rowErrors);
+                } catch (IllegalArgumentException e) {
+                    rowErrors.put("row", "Unreadable row: " + rootMessage(e));
+                }
+            }
+            if (!rowErrors.isEmpty()) {
+                report.reject(index, rowErrors);
+                continue;
+            }
+            batch.add(new Pending<>(index, request));
+            if (batch.size() >= batchSize) {
+                imported += insertBatch(batch, users, insert, report);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            imported += insertBatch(batch, users, insert, report);
+        }
+        // Batch-level rejections come after the row checks of later rows; report in row order
+        report.errors.sort(Comparator.comparingInt(BulkItemResult::index));
+        return new ImportResult(rows, imported, report.failed, report.errors, report.failed > report.errors.size());
+    }
+
+    // Returns how many rows of the batch were written; the rest are reported
+    private <T> int insertBatch(List<Pending<T>> batch, Function<T, Map<String, Integer>> users, Consumer<List<T>> insert,
+                                Report report) {
+        // One lookup per batch for every user the rows point at, instead of an FK violation per missing one
+        Set<Integer> referenced = new HashSet<>();
+        batch.forEach(pending -> referenced.addAll(users.apply(pending.request()).values()));
+        Set<Integer> existing = existingUserIds(referenced);
+
+        List<Pending<T>> valid = new ArrayList<>(batch.size());
+        for (Pending<T> pending : batch) {
+            Map<String, String> rowErrors = new HashMap<>();
+            users.apply(pending.request()).forEach((field, userId) -> {
+                if (!existing.contains(userId)) {
+                    rowErrors.put(field, "User " + userId + " not found");
+                }
+            });
+            if (rowErrors.isEmpty()) {
+                valid.add(pending);
+            } else {
+                report.reject(pending.index(), rowErrors);
+            }
+        }
+        if (valid.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert.accept(valid.stream().map(Pending::request).toList()));
+            return valid.size();
+        } catch (DataAccessException e) {
+            // One bad row (e.g. a project deleted meanwhile) rolls back the batch; retry row by row to find it
+            int imported = 0;
+            for (Pending<T> pending : valid) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert.accept(List.of(pending.request())));
+                    imported++;
+                } catch (DataAccessException rowFailure) {
+                    // First line only: drivers append the SQL text after the reason
+                    String reason = String.valueOf(NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage()).lines()
+                            .findFirst().orElse("");
+                    report.reject(pending.index(), Map.of("row", "Rejected by the database: " + reason));
+                }
+            }
+            return imported;
+        }
+    }
+
+    private Set<Integer> existingUserIds(Set<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM users WHERE id IN (" + placeholders + ")",
+                Integer.class, ids.toArray()));
+    }
+
+    private void insertTasks(List<TaskRequest> tasks) {
+        List<Integer> ids = allocateTaskIds(tasks.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_TASK, new Batch(tasks.size(), (ps, i) -> {
+            TaskRequest task = tasks.get(i);
+            ps.setInt(1, ids.get(i));
+            ps.setString(2, task.getTitle());
+            ps.setString(3, task.getDescription());
+            ps.setBoolean(4, task.getCompleted() != null && task.getCompleted());
+            setInteger(ps, 5, task.getProjectId());
+            ps.setTimestamp(6, task.getDueDate() == null ? null : Timestamp.valueOf(task.getDueDate()));
+            ps.setString(7, task.getPriority() == null ? "medium" : task.getPriority());
+            ps.setBoolean(8, task.getStarred() != null && task.getStarred());
+            setInteger(ps, 9, task.getAssignedTo());
+            setInteger(ps, 10, task.getAssignedBy());
+            ps.setInt(11, task.getUserId());
+            setInteger(ps, 12, task.getTeamId());
+            ps.setTimestamp(13, now);
+            ps.setTimestamp(14, now);
+        }));
+    }
+
+    private void insertProjects(List<ProjectRequest> projects) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_PROJECT, new Batch(projects.size(), (ps, i) -> {
+            ProjectRequest project = projects.get(i);
+            ps.setString(1, project.getName());
+            ps.setString(2, project.getColor());
+            ps.setInt(3, project.getUserId());
+            setInteger(ps, 4, project.getTeamId());
+            ps.setBoolean(5, project.getIsPublic() != null && project.getIsPublic());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        }));
+    }
+
+    /**
+     * Takes ids from tasks_seq the way Hibernate's pooled optimizer does: each nextval
+     * reserves the block (value - 50, value], so these ids can never collide with ones
+     * handed out to TaskRepository.save in the same or another instance.
+     */
+    private List<Integer> allocateTaskIds(int count) {
+        List<Integer> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + TASK_ID_BLOCK - 1) / TASK_ID_BLOCK;
+            List<Long> highs = jdbcTemplate.queryForList(
+                    "SELECT nextval('tasks_seq') FROM generate_series(1, ?)", Long.class, blocks);
+            for (long high : highs) {
+                // On a fresh sequence the first value is 1, which only covers id 1
+                for (long id = Math.max(1, high - TASK_ID_BLOCK + 1); id <= high && ids.size() < count; id++) {
+                    ids.add(Math.toIntExact(id));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void setInteger(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    // A row that passed its own checks, waiting for its batch; index is the 0-based data row
+    private record Pending<T>(int index, T request) {
+    }
+
+    // Rejected rows: all are counted, the first max-reported-errors are listed
+    private final class Report {
+        private final List<BulkItemResult> errors = new ArrayList<>();
+        private int failed;
+
+        void reject(int index, Map<String, String> rowErrors) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(BulkItemResult.invalid(index, null, rowErrors));
+            }
+        }
+    }
+
+    // Property name -> value, or the reason the line could not be parsed
+    private record Row(Map<String, Object> values, String error) {
+    }
+
+    private interface RowSource {
+        // Next row, or null at end of input
+        Row next() throws IOException;
+    }
+
+    private interface RowSetter {
+        void setValues(PreparedStatement ps, int i) throws SQLException;
+    }
+
+    private record Batch(int size, RowSetter setter) implements BatchPreparedStatementSetter {
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            setter.setValues(ps, i);
+        }
+
+        @Override
+        public int getBatchSize() {
+            return size;
+        }
+    }
+
+    // First record is the header; its names are matched to request properties, unknown columns are ignored
+    private static final class CsvRows implements RowSource {
+        private final CsvRecordReader reader;
+        private List<String> header;
+
+        CsvRows(BufferedReader reader) {
+            this.reader = new CsvRecordReader(reader);
+        }
+
+        @Override
+        public Row next() throws IOException {
+            if (header == null) {
+                header = reader.next();
+                if (header == null) {
+                    return null;
+                }
+            }
+            List<String> values;
+            do {
+                values = reader.next();
+            } while (values != null && values.size() == 1 && values.get(0).isEmpty());
+            if (values == null) {
+                return null;
+            }
+            Map<String, Object> row = new HashMap<>();
+            for (int i = 0; i < header.size() && i < values.size(); i++) {
+                // Empty cells mean "not set", which is how the export writes nulls
+                if (!values.get(i).isEmpty()) {
+                    row.put(header.get(i).trim(), TaskExportService.restoreFormula(values.get(i)));
+                }
+            }
+            return new Row(row, null);
+        }
+    }
+
+    private final class NdjsonRows implements RowSource {
+        private final BufferedReader reader;
+
+        NdjsonRows(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Row next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            if (line == null) {
+                return null;
+            }
+            try {
+                return new Row(objectMapper.readValue(line, Map.class), null);
+            } catch (JsonProcessingException e) {
+                // Surfaces as a row error rather than aborting the whole import
+                return new Row(null, e.getOriginalMessage());
+            }
+        }
+    }
+}
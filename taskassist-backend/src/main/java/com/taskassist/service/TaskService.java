@@ -1,117 +1,313 @@
 package com.taskassist.service;
 
+import com.taskassist.dto.ExpandedTaskView;
+import com.taskassist.dto.ProjectRef;
+import com.taskassist.dto.TaskSummaryView;
+import com.taskassist.dto.TaskView;
+import com.taskassist.dto.UserRef;
 import com.taskassist.model.Task;
+import com.taskassist.model.Tombstone;
+import com.taskassist.repository.ProjectRepository;
 import com.taskassist.repository.TaskRepository;
+import com.taskassist.repository.TombstoneRepository;
+import com.taskassist.repository.UserRepository;
+import com.taskassist.security.AccessScope;
+import com.taskassist.security.AccessScopes;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashMap;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
 
     private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final TaskSummaryCounters taskSummaryCounters;
+    private final ProjectService projectService;
+    private final AccessScopes accessScopes;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // "query" aggregates on every read, "counters" serves the global summary from TaskSummaryCounters
+    @Value("${application.tasks.summary.mode:query}")
+    private String summaryMode;
+
+    @Value("${application.tasks.page.max-limit:500}")
+    private int maxPageSize;
     
     public List<Task> getAllTasks() {
         return taskRepository.findAll();
     }
     
-    public List<Task> getTasksByFilter(String filter) {
+    public List<TaskView> getTasksByFilter(String filter, Integer after, Integer limit) {
+        Integer cursor = cursor(after);
+        Limit pageLimit = pageLimit(limit);
+        AccessScope scope = accessScopes.current();
         if (filter == null) {
-            return taskRepository.findAll();
+            return taskRepository.findPage(cursor, scope, pageLimit);
         }
         
         switch (filter) {
             case "completed":
-                return taskRepository.findAll().stream()
-                    .filter(Task::getCompleted)
-                    .toList();
+                return taskRepository.findPageByCompleted(true, cursor, scope, pageLimit);
             case "pending":
-                return taskRepository.findAll().stream()
-                    .filter(task -> !task.getCompleted())
-                    .toList();
+                return taskRepository.findPageByCompleted(false, cursor, scope, pageLimit);
             case "starred":
-                return taskRepository.findAll().stream()
-                    .filter(Task::getStarred)
-                    .toList();
+                return taskRepository.findStarredPage(cursor, scope, pageLimit);
             default:
-                return taskRepository.findAll();
+                return taskRepository.findPage(cursor, scope, pageLimit);
+        }
+    }
+    
+    // Resolves the requested references for a page of tasks with at most one query per referenced table
+    public List<ExpandedTaskView> expandTasks(List<TaskView> tasks, Set<String> expand) {
+        boolean withProject = expand.contains("project");
+        boolean withAssignee = expand.contains("assignee");
+        boolean withAssigner = expand.contains("assigner");
+        
+        Set<Integer> projectIds = new HashSet<>();
+        Set<Integer> userIds = new HashSet<>();
+        for (TaskView task : tasks) {
+            if (withProject && task.projectId() != null) {
+                projectIds.add(task.projectId());
+            }
+            if (withAssignee && task.assignedTo() != null) {
+                userIds.add(task.assignedTo());
+            }
+            if (withAssigner && task.assignedBy() != null) {
+                userIds.add(task.assignedBy());
+            }
         }
+        
+        Map<Integer, ProjectRef> projects = projectIds.isEmpty() ? Map.of()
+                : projectRepository.findRefsByIdIn(projectIds).stream()
+                    .collect(Collectors.toMap(ProjectRef::id, Function.identity()));
+        Map<Integer, UserRef> users = userIds.isEmpty() ? Map.of()
+                : userRepository.findRefsByIdIn(userIds).stream()
+                    .collect(Collectors.toMap(UserRef::id, Function.identity()));
+        
+        return tasks.stream()
+            .map(task -> new ExpandedTaskView(
+                task,
+                withProject ? lookup(projects, task.projectId()) : null,
+                withAssignee ? lookup(users, task.assignedTo()) : null,
+                withAssigner ? lookup(users, task.assignedBy()) : null))
+            .toList();
     }
     
-    public Optional<Task> getTaskById(Integer id) {
-        return taskRepository.findById(id);
+    public Optional<TaskView> getTaskById(Integer id) {
+        return taskRepository.findViewById(id, accessScopes.current());
     }
     
-    public List<Task> getTasksByUserId(Integer userId, String filter) {
-        return taskRepository.findByUserIdAndFilter(userId, filter);
+    public List<TaskView> getTasksByUserId(Integer userId, String filter, Integer after, Integer limit) {
+        Integer cursor = cursor(after);
+        Limit pageLimit = pageLimit(limit);
+        AccessScope scope = accessScopes.current();
+        if (filter == null) {
+            return taskRepository.findPageByUser(userId, cursor, scope, pageLimit);
+        }
+        
+        switch (filter) {
+            case "completed":
+                return taskRepository.findPageByUserAndCompleted(userId, true, cursor, scope, pageLimit);
+            case "pending":
+                return taskRepository.findPageByUserAndCompleted(userId, false, cursor, scope, pageLimit);
+            case "starred":
+                return taskRepository.findStarredPageByUser(userId, cursor, scope, pageLimit);
+            default:
+                return taskRepository.findPageByUser(userId, cursor, scope, pageLimit);
+        }
     }
     
-    public List<Task> getTasksAssignedToUser(Integer userId, String filter) {
-        return taskRepository.findByAssignedToAndFilter(userId, filter);
+    public List<TaskView> getTasksAssignedToUser(Integer userId, String filter, Integer after, Integer limit) {
+        Integer cursor = cursor(after);
+        Limit pageLimit = pageLimit(limit);
+        AccessScope scope = accessScopes.current();
+        if (filter == null) {
+            return taskRepository.findPageByAssignee(userId, cursor, scope, pageLimit);
+        }
+        
+        switch (filter) {
+            case "completed":
+                return taskRepository.findPageByAssigneeAndCompleted(userId, true, cursor, scope, pageLimit);
+            case "pending":
+                return taskRepository.findPageByAssigneeAndCompleted(userId, false, cursor, scope, pageLimit);
+            case "starred":
+                return taskRepository.findStarredPageByAssignee(userId, cursor, scope, pageLimit);
+            default:
+                return taskRepository.findPageByAssignee(userId, cursor, scope, pageLimit);
+        }
     }
     
+    // Tasks are created for the caller unless an admin creates them on someone else's behalf
     public Task createTask(Task task) {
-        return taskRepository.save(task);
+        AccessScope scope = accessScopes.current();
+        if (task.getUserId() == null) {
+            task.setUserId(scope.userId());
+        } else if (!scope.canActAs(task.getUserId())) {
+            throw new AccessDeniedException("Cannot create tasks for user " + task.getUserId());
+        }
+        ProjectService.checkTeam(scope, task.getTeamId());
+        projectService.checkProject(scope, task.getProjectId());
+        Task saved = taskRepository.save(task);
+        taskSummaryCounters.recordChange(null, taskSummaryCounters.capture(saved));
+        eventPublisher.publishEvent(TaskChangedEvent.created(saved));
+        return saved;
     }
     
-    public Optional<Task> updateTask(Integer id, Task taskDetails) {
-        return taskRepository.findById(id)
+    // One SELECT plus one UPDATE of only the changed columns (@DynamicUpdate), guarded by the version column
+    @Transactional
+    public Optional<Task> updateTask(Integer id, Task taskDetails, Long expectedVersion) {
+        AccessScope scope = accessScopes.current();
+        ProjectService.checkTeam(scope, taskDetails.getTeamId());
+        return taskRepository.findVisibleById(id, scope)
             .map(existingTask -> {
-                // Update only non-null fields
-                if (taskDetails.getTitle() != null) {
-                    existingTask.setTitle(taskDetails.getTitle());
-                }
-                if (taskDetails.getDescription() != null) {
-                    existingTask.setDescription(taskDetails.getDescription());
-                }
-                if (taskDetails.getCompleted() != null) {
-                    existingTask.setCompleted(taskDetails.getCompleted());
-                }
-                if (taskDetails.getProjectId() != null) {
-                    existingTask.setProjectId(taskDetails.getProjectId());
-                }
-                if (taskDetails.getDueDate() != null) {
-                    existingTask.setDueDate(taskDetails.getDueDate());
-                }
-                if (taskDetails.getPriority() != null) {
-                    existingTask.setPriority(taskDetails.getPriority());
+                if (expectedVersion != null && !expectedVersion.equals(existingTask.getVersion())) {
+                    throw new OptimisticLockingFailureException("Task " + id + " has been modified");
                 }
-                if (taskDetails.getStarred() != null) {
-                    existingTask.setStarred(taskDetails.getStarred());
-                }
-                if (taskDetails.getAssignedTo() != null) {
-                    existingTask.setAssignedTo(taskDetails.getAssignedTo());
-                }
-                if (taskDetails.getAssignedBy() != null) {
-                    existingTask.setAssignedBy(taskDetails.getAssignedBy());
-                }
-                if (taskDetails.getTeamId() != null) {
-                    existingTask.setTeamId(taskDetails.getTeamId());
+                // Only a move is checked: a task may already sit in a project its assignee cannot see
+                if (taskDetails.getProjectId() != null && !taskDetails.getProjectId().equals(existingTask.getProjectId())) {
+                    projectService.checkProject(scope, taskDetails.getProjectId());
                 }
+                TaskSummaryCounters.Snapshot before = taskSummaryCounters.capture(existingTask);
+                TaskChangedEvent.Audience audience = TaskChangedEvent.Audience.of(existingTask);
+                Tombstone previous = Tombstone.of(existingTask);
+                
+                applyChanges(existingTask, taskDetails);
                 
-                return taskRepository.save(existingTask);
+                // Flush now so the bumped version is in the returned entity
+                Task saved = taskRepository.saveAndFlush(existingTask);
+                // Reassigned or moved between teams: tell delta sync of those who may have lost it
+                if (!TaskChangedEvent.Audience.of(saved).equals(audience)) {
+                    tombstoneRepository.save(previous);
+                }
+                taskSummaryCounters.recordChange(before, taskSummaryCounters.capture(saved));
+                eventPublisher.publishEvent(TaskChangedEvent.updated(audience, saved));
+                return saved;
             });
     }
     
+    @Transactional
     public boolean deleteTask(Integer id) {
-        return taskRepository.findById(id)
+        return taskRepository.findVisibleById(id, accessScopes.current())
             .map(task -> {
                 taskRepository.delete(task);
+                tombstoneRepository.save(Tombstone.of(task));
+                taskSummaryCounters.recordChange(taskSummaryCounters.capture(task), null);
+                eventPublisher.publishEvent(TaskChangedEvent.deleted(task));
                 return true;
             })
             .orElse(false);
     }
     
-    public Map<String, Long> getTaskSummary() {
-        Map<String, Long> summary = new HashMap<>();
-        summary.put("total", taskRepository.countTotalTasks());
-        summary.put("completed", taskRepository.countCompletedTasks());
-        summary.put("pending", taskRepository.countPendingTasks());
+    public Map<String, Long> getTaskSummary(Integer userId, Integer projectId, Integer teamId) {
+        LocalDateTime now = LocalDateTime.now();
+        AccessScope scope = accessScopes.current();
+        checkSummaryAccess(scope, userId, projectId, teamId);
+        TaskSummaryView view;
+        if (userId != null) {
+            view = taskRepository.summarizeByUser(userId, now, scope);
+        } else if (projectId != null) {
+            view = taskRepository.summarizeByProject(projectId, now, scope);
+        } else if (teamId != null) {
+            view = taskRepository.summarizeByTeam(teamId, now);
+        } else if ("counters".equalsIgnoreCase(summaryMode)) {
+            return taskSummaryCounters.snapshot();
+        } else {
+            view = taskRepository.summarize(now);
+        }
+        
+        Map<String, Long> summary = new LinkedHashMap<>();
+        summary.put("total", view.getTotal());
+        summary.put("completed", view.getCompleted());
+        summary.put("pending", view.getPending());
+        summary.put("starred", view.getStarred());
+        summary.put("overdue", view.getOverdue());
+        summary.put("highPriority", view.getHighPriority());
+        summary.put("mediumPriority", view.getMediumPriority());
+        summary.put("lowPriority", view.getLowPriority());
         return summary;
     }
+    
+    // Scoped summaries are answered from the in-memory team graph and project cache, no extra query
+    private void checkSummaryAccess(AccessScope scope, Integer userId, Integer projectId, Integer teamId) {
+        if (userId != null && !scope.canViewUser(userId)) {
+            throw new AccessDeniedException("Cannot view tasks of user " + userId);
+        }
+        if (userId == null && projectId != null && !projectService.canUseProject(scope, projectId)) {
+            throw new AccessDeniedException("Cannot view project " + projectId);
+        }
+        if (userId == null && projectId == null && teamId != null && !scope.inTeam(teamId)) {
+            throw new AccessDeniedException("Not a member of team " + teamId);
+        }
+    }
+    
+    // Update only non-null fields
+    static void applyChanges(Task existingTask, Task taskDetails) {
+        if (taskDetails.getTitle() != null) {
+            existingTask.setTitle(taskDetails.getTitle());
+        }
+        if (taskDetails.getDescription() != null) {
+            existingTask.setDescription(taskDetails.getDescription());
+        }
+        if (taskDetails.getCompleted() != null) {
+            existingTask.setCompleted(taskDetails.getCompleted());
+        }
+        if (taskDetails.getProjectId() != null) {
+            existingTask.setProjectId(taskDetails.getProjectId());
+        }
+        if (taskDetails.getDueDate() != null) {
+            existingTask.setDueDate(taskDetails.getDueDate());
+        }
+        if (taskDetails.getPriority() != null) {
+            existingTask.setPriority(taskDetails.getPriority());
+        }
+        if (taskDetails.getStarred() != null) {
+            existingTask.setStarred(taskDetails.getStarred());
+        }
+        if (taskDetails.getAssignedTo() != null) {
+            existingTask.setAssignedTo(taskDetails.getAssignedTo());
+        }
+        if (taskDetails.getAssignedBy() != null) {
+            existingTask.setAssignedBy(taskDetails.getAssignedBy());
+        }
+        if (taskDetails.getTeamId() != null) {
+            existingTask.setTeamId(taskDetails.getTeamId());
+        }
+    }
+    
+    private static <T> T lookup(Map<Integer, T> refs, Integer id) {
+        return id == null ? null : refs.get(id);
+    }
+    
+    private static Integer cursor(Integer after) {
+        return after == null ? 0 : after;
+    }
+    
+    // Explicit page sizes are clamped to [1, max-limit]
+    public int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+    
+    // No limit keeps the old "whole list" behaviour for existing clients
+    private Limit pageLimit(Integer limit) {
+        return limit == null ? Limit.unlimited() : Limit.of(pageSize(limit));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.taskassist.service;
+
+import com.taskassist.dto.TaskSummaryView;
+import com.taskassist.model.Task;
+import com.taskassist.repository.TaskRepository;
+import com.taskassist.support.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Materialized global task counters for application.tasks.summary.mode=counters.
+ * Seeded from the aggregate query, then kept current by applying a delta for every
+ * committed create/update/delete, so reading the summary costs no query.
+ * Deltas cannot see writes from other instances, commits racing the seed query or tasks
+ * passing their due date, so once in use the counters are re-seeded on a fixed delay
+ * (application.tasks.summary.reseed-interval); that interval bounds the drift.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskSummaryCounters {
+
+    private final TaskRepository taskRepository;
+
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong starred = new AtomicLong();
+    private final AtomicLong overdue = new AtomicLong();
+    private final AtomicLong highPriority = new AtomicLong();
+    private final AtomicLong mediumPriority = new AtomicLong();
+    private final AtomicLong lowPriority = new AtomicLong();
+
+    private volatile boolean seeded;
+
+    // Not synchronized: a virtual thread blocked on the seeding query would pin its carrier
+    private final ReentrantLock seedLock = new ReentrantLock();
+
+    public Map<String, Long> snapshot() {
+        if (!seeded) {
+            seed(false);
+        }
+        Map<String, Long> summary = new LinkedHashMap<>();
+        long totalCount = total.get();
+        long completedCount = completed.get();
+        summary.put("total", totalCount);
+        summary.put("completed", completedCount);
+        summary.put("pending", totalCount - completedCount);
+        summary.put("starred", starred.get());
+        summary.put("overdue", overdue.get());
+        summary.put("highPriority", highPriority.get());
+        summary.put("mediumPriority", mediumPriority.get());
+        summary.put("lowPriority", lowPriority.get());
+        return summary;
+    }
+
+    // Captures the counted fields of a task before it is mutated in place
+    public Snapshot capture(Task task) {
+        boolean completedTask = Boolean.TRUE.equals(task.getCompleted());
+        boolean overdueTask = !completedTask && task.getDueDate() != null && task.getDueDate().isBefore(LocalDateTime.now());
+        return new Snapshot(completedTask, Boolean.TRUE.equals(task.getStarred()), overdueTask, task.getPriority());
+    }
+
+    public void recordChange(Snapshot before, Snapshot after) {
+        AfterCommit.run(() -> apply(before, after));
+    }
+
+    // Set-based completion changes only move the completed bucket; overdue catches up at the next re-seed
+    public void recordCompletedChange(long delta) {
+        AfterCommit.run(() -> {
+            if (seeded) {
+                completed.addAndGet(delta);
+            }
+        });
+    }
+
+    // For writes that bypass the entity path (e.g. JDBC imports): recount on the next read
+    public void invalidate() {
+        seeded = false;
+    }
+
+    // Only once something has read the counters; in query mode they are never seeded
+    @Scheduled(fixedDelayString = "${application.tasks.summary.reseed-interval:60000}")
+    public void reseed() {
+        if (seeded) {
+            seed(true);
+        }
+    }
+
+    private void apply(Snapshot before, Snapshot after) {
+        // Until seeded the counters are recomputed from the table anyway
+        if (!seeded) {
+            return;
+        }
+        if (before != null) {
+            add(before, -1);
+        }
+        if (after != null) {
+            add(after, 1);
+        }
+    }
+
+    private void add(Snapshot task, long delta) {
+        total.addAndGet(delta);
+        if (task.completed()) {
+            completed.addAndGet(delta);
+        }
+        if (task.starred()) {
+            starred.addAndGet(delta);
+        }
+        if (task.overdue()) {
+            overdue.addAndGet(delta);
+        }
+        AtomicLong priorityCounter = priorityCounter(task.priority());
+        if (priorityCounter != null) {
+            priorityCounter.addAndGet(delta);
+        }
+    }
+
+    private AtomicLong priorityCounter(String priority) {
+        if (priority == null) {
+            return null;
+        }
+        return switch (priority.toLowerCase()) {
+            case "high" -> highPriority;
+            case "medium" -> mediumPriority;
+            case "low" -> lowPriority;
+            default -> null;
+        };
+    }
+
+    // Readers keep the previous values while a forced re-seed runs
+    private void seed(boolean force) {
+        seedLock.lock();
+        try {
+            if (seeded && !force) {
+                return;
+            }
+            TaskSummaryView view = taskRepository.summarize(LocalDateTime.now());
+            total.set(view.getTotal());
+            completed.set(view.getCompleted());
+            starred.set(view.getStarred());
+            overdue.set(view.getOverdue());
+            highPriority.set(view.getHighPriority());
+            mediumPriority.set(view.getMediumPriority());
+            lowPriority.set(view.getLowPriority());
+            seeded = true;
+        } finally {
+            seedLock.unlock();
+        }
+    }
+
+    public record Snapshot(boolean completed, boolean starred, boolean overdue, String priority) {
+    }
+}
@@ -0,0 +1,205 @@
+package com.taskassist.service;
+
+import com.taskassist.dto.TeamView;
+import com.taskassist.repository.TeamRepository;
+import com.taskassist.support.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory adjacency lists of the team graph. A Team row is an undirected edge between
+ * two users, so each user keeps a sorted int[] of teammates and of the team (edge) ids they
+ * belong to. Arrays are never modified in place: after a team write commits, only the two
+ * affected users' arrays are replaced, so reads are lock-free and writes cost O(degree).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeamGraph {
+
+    private static final int[] NONE = new int[0];
+
+    private final TeamRepository teamRepository;
+
+    private volatile Snapshot snapshot;
+
+    // Guards snapshot installs and writes; a lock rather than synchronized because the lazy first
+    // load queries the database, which would pin a virtual thread's carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Counts applied writes, so a reload that read the table before one of them is not installed
+    private long writes;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+        log.info("Team graph loaded with {} connections", snapshot.members().size());
+    }
+
+    // Picks up connections written by other instances
+    @Scheduled(fixedDelayString = "${application.teams.graph.reload-interval:300000}",
+            initialDelayString = "${application.teams.graph.reload-interval:300000}")
+    public void reload() {
+        long writesBefore;
+        lock.lock();
+        try {
+            writesBefore = writes;
+        } finally {
+            lock.unlock();
+        }
+        List<TeamView> teams = teamRepository.findAllViews();
+        // Two passes: size every user's arrays by degree, then fill them
+        Map<Integer, Integer> degree = new HashMap<>();
+        for (TeamView team : teams) {
+            degree.merge(team.userId1(), 1, Integer::sum);
+            degree.merge(team.userId2(), 1, Integer::sum);
+        }
+        Map<Integer, int[]> members = new ConcurrentHashMap<>(teams.size() * 2);
+        Map<Integer, int[]> teammates = new ConcurrentHashMap<>(degree.size() * 2);
+        Map<Integer, int[]> teamIds = new ConcurrentHashMap<>(degree.size() * 2);
+        Map<Integer, Integer> filled = new HashMap<>(degree.size() * 2);
+        for (TeamView team : teams) {
+            members.put(team.id(), new int[] {team.userId1(), team.userId2()});
+            link(team.userId1(), team.userId2(), team.id(), degree, filled, teammates, teamIds);
+            link(team.userId2(), team.userId1(), team.id(), degree, filled, teammates, teamIds);
+        }
+        teammates.replaceAll((user, ids) -> sortedDistinct(ids));
+        teamIds.replaceAll((user, ids) -> sortedDistinct(ids));
+        lock.lock();
+        try {
+            if (snapshot == null || writes == writesBefore) {
+                snapshot = new Snapshot(members, teammates, teamIds);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean areTeammates(int userA, int userB) {
+        return Arrays.binarySearch(current().teammates().getOrDefault(userA, NONE), userB) >= 0;
+    }
+
+    public int[] teammatesOf(int userId) {
+        return current().teammates().getOrDefault(userId, NONE).clone();
+    }
+
+    public int[] teamIdsOf(int userId) {
+        return current().teamIds().getOrDefault(userId, NONE).clone();
+    }
+
+    public boolean isMember(int teamId, int userId) {
+        int[] pair = current().members().get(teamId);
+        return pair != null && (pair[0] == userId || pair[1] == userId);
+    }
+
+    // The two users of a team connection, or an empty array when it does not exist
+    public int[] membersOf(int teamId) {
+        int[] pair = current().members().get(teamId);
+        return pair == null ? NONE : pair.clone();
+    }
+
+    public void added(int teamId, int userId1, int userId2) {
+        AfterCommit.run(() -> apply(teamId, userId1, userId2, true));
+    }
+
+    public void removed(int teamId, int userId1, int userId2) {
+        AfterCommit.run(() -> apply(teamId, userId1, userId2, false));
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            lock.lock();
+            try {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            } finally {
+                lock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private void apply(int teamId, int userId1, int userId2, boolean add) {
+        lock.lock();
+        try {
+            Snapshot current = current();
+            writes++;
+            if (add) {
+                current.members().put(teamId, new int[] {userId1, userId2});
+            } else {
+                current.members().remove(teamId);
+            }
+            current.teamIds().compute(userId1, (user, ids) -> update(ids, teamId, add));
+            current.teamIds().compute(userId2, (user, ids) -> update(ids, teamId, add));
+            if (add || !connectedByOtherTeam(current, userId1, userId2)) {
+                current.teammates().compute(userId1, (user, ids) -> update(ids, userId2, add));
+                current.teammates().compute(userId2, (user, ids) -> update(ids, userId1, add));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Legacy data may hold the same pair twice; removing one row must keep the pair connected
+    private static boolean connectedByOtherTeam(Snapshot current, int userId1, int userId2) {
+        for (int teamId : current.teamIds().getOrDefault(userId1, NONE)) {
+            int[] pair = current.members().get(teamId);
+            if (pair != null && (pair[0] == userId2 || pair[1] == userId2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] update(int[] ids, int id, boolean add) {
+        int[] current = ids == null ? NONE : ids;
+        int position = Arrays.binarySearch(current, id);
+        if (add) {
+            if (position >= 0) {
+                return current;
+            }
+            int insertAt = -position - 1;
+            int[] next = new int[current.length + 1];
+            System.arraycopy(current, 0, next, 0, insertAt);
+            next[insertAt] = id;
+            System.arraycopy(current, insertAt, next, insertAt + 1, current.length - insertAt);
+            return next;
+        }
+        if (position < 0) {
+            return current;
+        }
+        int[] next = new int[current.length - 1];
+        System.arraycopy(current, 0, next, 0, position);
+        System.arraycopy(current, position + 1, next, position, current.length - position - 1);
+        return next;
+    }
+
+    private static void link(int user, int teammate, int teamId, Map<Integer, Integer> degree,
+                             Map<Integer, Integer> filled, Map<Integer, int[]> teammates, Map<Integer, int[]> teamIds) {
+        int size = degree.get(user);
+        int index = filled.merge(user, 1, Integer::sum) - 1;
+        teammates.computeIfAbsent(user, u -> new int[size])[index] = teammate;
+        teamIds.computeIfAbsent(user, u -> new int[size])[index] = teamId;
+    }
+
+    private static int[] sortedDistinct(int[] ids) {
+        return Arrays.stream(ids).sorted().distinct().toArray();
+    }
+
+    private record Snapshot(Map<Integer, int[]> members, Map<Integer, int[]> teammates, Map<Integer, int[]> teamIds) {
+    }
+}
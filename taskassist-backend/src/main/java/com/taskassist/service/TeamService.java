@@ -1,12 +1,20 @@
 package com.taskassist.service;
 
+import com.taskassist.dto.UserView;
 import com.taskassist.model.Team;
-import com.taskassist.model.User;
+import com.taskassist.model.Tombstone;
 import com.taskassist.repository.TeamRepository;
+import com.taskassist.repository.TombstoneRepository;
 import com.taskassist.repository.UserRepository;
+import com.taskassist.security.AccessScope;
+import com.taskassist.security.AccessScopes;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,12 +24,24 @@ public class TeamService {
 
     private final TeamRepository teamRepository;
     private final UserRepository userRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final AccessibleProjectsCache accessibleProjectsCache;
+    private final TeamGraph teamGraph;
+    private final AccessScopes accessScopes;
     
+    // Not transactional on purpose: a duplicate-pair violation must leave a usable session for the lookup
     public Team addTeamMember(Integer userId1, Integer userId2) {
-        // Check if the connection already exists
-        Optional<Team> existingTeam = teamRepository.findTeamConnection(userId1, userId2);
-        if (existingTeam.isPresent()) {
-            return existingTeam.get();
+        AccessScope scope = accessScopes.current();
+        if (!scope.canActAs(userId1) && !scope.canActAs(userId2)) {
+            throw new AccessDeniedException("Team connections must include the current user");
+        }
+        
+        // Check if the connection already exists; the graph answers without a query when it does not
+        if (teamGraph.areTeammates(userId1, userId2)) {
+            Optional<Team> existingTeam = teamRepository.findTeamConnection(userId1, userId2);
+            if (existingTeam.isPresent()) {
+                return existingTeam.get();
+            }
         }
         
         // Verify both users exist
@@ -36,19 +56,56 @@ public class TeamService {
             .userId2(userId2)
             .build();
         
-        return teamRepository.save(team);
+        Team saved;
+        try {
+            // A concurrent insert of the same pair trips uq_teams_pair; the winner's row is the answer
+            saved = teamRepository.save(team);
+        } catch (DataIntegrityViolationException e) {
+            return teamRepository.findTeamConnection(userId1, userId2).orElseThrow(() -> e);
+        }
+        teamGraph.added(saved.getId(), saved.getUserId1(), saved.getUserId2());
+        // Both members now see each other's public team projects
+        accessibleProjectsCache.invalidateTeam(saved);
+        recordMembershipChange(saved);
+        return saved;
+    }
+    
+    // Teammates in both directions of the connection, read from the in-memory graph
+    public List<UserView> getTeamMembers(Integer userId) {
+        if (!accessScopes.current().canViewUser(userId)) {
+            throw new AccessDeniedException("Cannot view the teammates of user " + userId);
+        }
+        int[] teammates = teamGraph.teammatesOf(userId);
+        if (teammates.length == 0) {
+            return List.of();
+        }
+        return userRepository.findViewsByIdIn(Arrays.stream(teammates).boxed().toList());
     }
     
-    public List<User> getTeamMembers(Integer userId) {
-        return teamRepository.findTeamMembersByUserId(userId);
+    public boolean isTeamMember(Integer teamId, Integer userId) {
+        return teamId != null && userId != null && teamGraph.isMember(teamId, userId);
     }
     
+    @Transactional
     public boolean removeTeamMember(Integer teamId) {
+        // Connections the caller is not part of look missing, without a lookup
+        if (!accessScopes.current().inTeam(teamId)) {
+            return false;
+        }
         return teamRepository.findById(teamId)
             .map(team -> {
                 teamRepository.delete(team);
+                teamGraph.removed(team.getId(), team.getUserId1(), team.getUserId2());
+                accessibleProjectsCache.invalidateTeam(team);
+                recordMembershipChange(team);
                 return true;
             })
             .orElse(false);
     }
+    
+    // The team's tasks and projects appear or vanish without their updated_at moving, so the
+    // members' next delta sync starts over instead
+    private void recordMembershipChange(Team team) {
+        tombstoneRepository.saveAll(List.of(Tombstone.of(team, team.getUserId1()), Tombstone.of(team, team.getUserId2())));
+    }
 }
\ No newline at end of file
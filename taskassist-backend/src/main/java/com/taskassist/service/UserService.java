@@ -1,13 +1,19 @@
 package com.taskassist.service;
 
+import com.taskassist.dto.UserView;
 import com.taskassist.model.User;
 import com.taskassist.repository.UserRepository;
+import com.taskassist.security.TokenPrincipalCache;
+import com.taskassist.security.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -16,11 +22,17 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenPrincipalCache tokenPrincipalCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final UsernamePrefixIndex usernamePrefixIndex;
+    private final LastLoginRecorder lastLoginRecorder;
 
     public User createUser(User user) {
         // Encode password before saving
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        usernamePrefixIndex.put(UserView.from(saved));
+        return saved;
     }
 
     public Optional<User> getUserById(Integer id) {
@@ -31,28 +43,71 @@ public class UserService {
         return userRepository.findByUsername(username);
     }
 
-    public List<User> searchUsers(String query) {
-        return userRepository.searchUsers(query);
+    public List<UserView> searchUsers(String query, int limit) {
+        String normalized = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        
+        // Type-ahead fast path: a full page of username prefix hits needs no query at all
+        if (usernamePrefixIndex.isReady()) {
+            List<UserView> hits = usernamePrefixIndex.findByPrefix(normalized, limit);
+            if (hits.size() >= limit) {
+                return hits;
+            }
+        }
+        
+        String escaped = escapeLike(normalized);
+        // One or two characters yield no trigram, so the substring search would scan every row
+        if (normalized.length() < 3) {
+            return userRepository.searchUsernamePrefix(escaped + "%", Limit.of(limit));
+        }
+        return userRepository.searchUsers(normalized, "%" + escaped + "%", escaped + "%", Limit.of(limit));
     }
 
     public User updateUser(User user) {
+        // Read before saving: the stored role and isActive are what the user's current tokens carry
+        Optional<User> stored = user.getId() == null ? Optional.empty() : userRepository.findById(user.getId());
         user.setUpdatedAt(LocalDateTime.now());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        usernamePrefixIndex.put(UserView.from(saved));
+        // Cached principals hold a snapshot of the user (role, isActive), so drop them
+        tokenPrincipalCache.invalidateUser(saved.getId());
+        boolean accessChanged = stored
+            .map(before -> !Objects.equals(before.getRole(), saved.getRole())
+                || !Objects.equals(before.getIsActive(), saved.getIsActive()))
+            .orElse(false);
+        if (accessChanged || Boolean.FALSE.equals(saved.getIsActive())) {
+            // Claims-mode tokens carry role and "active" themselves, so a demotion or deactivation must revoke them
+            tokenRevocationService.revokeAllForUser(saved.getId());
+        }
+        return saved;
     }
 
-    public User updateLastLogin(Integer userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        user.setLastLogin(LocalDateTime.now());
-        return userRepository.save(user);
+    // Coalesced and written in batches by LastLoginRecorder, off the login request
+    public void updateLastLogin(Integer userId) {
+        lastLoginRecorder.record(userId);
     }
 
     public boolean verifyUser(String username, String password) {
         Optional<User> userOpt = userRepository.findByUsername(username);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            return passwordEncoder.matches(password, user.getPassword());
+            if (!passwordEncoder.matches(password, user.getPassword())) {
+                return false;
+            }
+            // Same transparent upgrade as the AuthenticationManager login flow
+            if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+                String rehashed = passwordEncoder.encode(password);
+                userRepository.updatePassword(user.getId(), rehashed);
+                user.setPassword(rehashed);
+            }
+            return true;
         }
         return false;
     }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.taskassist.service;
+
+import com.taskassist.dto.UserView;
+import com.taskassist.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Optional in-process index of users sorted by lower-cased username, so type-ahead
+ * prefix lookups can be answered without a database round-trip.
+ * Enabled with application.users.search.prefix-index.enabled=true.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UsernamePrefixIndex {
+
+    private final UserRepository userRepository;
+
+    private final ConcurrentSkipListMap<String, UserView> byUsername = new ConcurrentSkipListMap<>();
+    private final Map<Integer, String> keyById = new ConcurrentHashMap<>();
+
+    @Value("${application.users.search.prefix-index.enabled:false}")
+    private boolean enabled;
+
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        for (UserView user : userRepository.findAllViews()) {
+            put(user);
+        }
+        loaded = true;
+        log.info("Username prefix index loaded with {} users", byUsername.size());
+    }
+
+    public boolean isReady() {
+        return enabled && loaded;
+    }
+
+    public List<UserView> findByPrefix(String prefix, int limit) {
+        String from = prefix.toLowerCase(Locale.ROOT);
+        // Every key starting with the prefix sorts before prefix + Character.MAX_VALUE
+        NavigableMap<String, UserView> range = byUsername.subMap(from, true, from + Character.MAX_VALUE, false);
+        List<UserView> result = new ArrayList<>(Math.min(limit, 16));
+        for (UserView user : range.values()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(user);
+        }
+        return result;
+    }
+
+    public void put(UserView user) {
+        if (!enabled || user.username() == null) {
+            return;
+        }
+        // Usernames are only unique case-sensitively, so the id keeps keys distinct
+        String key = user.username().toLowerCase(Locale.ROOT) + '\u0000' + user.id();
+        String previous = keyById.put(user.id(), key);
+        if (previous != null && !previous.equals(key)) {
+            byUsername.remove(previous);
+        }
+        byUsername.put(key, user);
+    }
+}
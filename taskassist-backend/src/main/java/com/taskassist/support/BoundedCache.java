@@ -0,0 +1,118 @@
+package com.taskassist.support;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Size-capped in-memory cache with per-entry expiry. At the cap the least recently used
+ * entry goes first, which is also where entries nobody reads any more (expired or not)
+ * end up. A lock rather than synchronized, so a reader never pins a virtual thread's carrier.
+ */
+public final class BoundedCache<K, V> {
+
+    // Access order: iteration starts at the least recently used entry
+    private final Map<K, Timed<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    // Null when missing or expired
+    public V get(K key) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            Timed<V> entry = entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.expiresAt() <= now) {
+                entries.remove(key);
+                evictions.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(K key, V value, long expiresAt) {
+        lock.lock();
+        try {
+            entries.put(key, new Timed<>(value, expiresAt));
+            Iterator<Timed<V>> it = entries.values().iterator();
+            while (entries.size() > maxSize && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(K key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void removeIf(Predicate<V> filter) {
+        lock.lock();
+        try {
+            entries.values().removeIf(entry -> filter.test(entry.value()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private record Timed<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,26 @@
+-- Indexes JPA annotations cannot express. Runs after Hibernate's schema update
+-- (spring.jpa.defer-datasource-initialization), so every statement must be idempotent.
+
+CREATE INDEX IF NOT EXISTS idx_tasks_starred ON tasks (id) WHERE starred = true;
+
+-- Trigram indexes behind UserRepository.searchUsers: they serve LOWER(col) LIKE '%q%' and similarity().
+-- pg_trgm itself needs privileges the app role usually lacks, so a DBA installs it once
+-- (db/prerequisites.sql) rather than this script on every start.
+CREATE INDEX IF NOT EXISTS idx_users_username_trgm ON users USING gin (lower(username) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_first_name_trgm ON users USING gin (lower(first_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_last_name_trgm ON users USING gin (lower(last_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_email_trgm ON users USING gin (lower(email) gin_trgm_ops);
+-- Trigrams need three characters; shorter type-ahead queries are username prefix range scans
+CREATE INDEX IF NOT EXISTS idx_users_username_prefix ON users (lower(username) text_pattern_ops);
+
+-- Task ids moved from IDENTITY to the pooled tasks_seq; lift the sequence past existing rows once
+SELECT setval('tasks_seq', (SELECT MAX(id) FROM tasks))
+WHERE (SELECT MAX(id) FROM tasks) > (SELECT last_value FROM tasks_seq);
+
+-- Rows written before optimistic locking have no version yet
+UPDATE tasks SET version = 0 WHERE version IS NULL;
+UPDATE projects SET version = 0 WHERE version IS NULL;
+
+-- One row per unordered pair of users, whichever order they were added in. Databases with
+-- duplicate pairs from before the constraint need db/migrations/001_dedupe_team_pairs.sql first.
+CREATE UNIQUE INDEX IF NOT EXISTS uq_teams_pair ON teams (LEAST(user_id1, user_id2), GREATEST(user_id1, user_id2));
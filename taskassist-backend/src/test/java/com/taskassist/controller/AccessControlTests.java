@@ -0,0 +1,232 @@
+package com.taskassist.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.taskassist.model.Project;
+import com.taskassist.model.Task;
+import com.taskassist.model.Team;
+import com.taskassist.model.User;
+import com.taskassist.repository.ProjectRepository;
+import com.taskassist.repository.TaskRepository;
+import com.taskassist.repository.TeamRepository;
+import com.taskassist.repository.UserRepository;
+import com.taskassist.security.JwtService;
+import com.taskassist.service.TeamGraph;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+
+/**
+ * Who may read and change which task and project, by id, for the four kinds of caller:
+ * the owner, a teammate (sees team tasks and public team projects), an outsider and an
+ * admin. Rows outside the caller's scope answer 404, exactly like missing ones.
+ */
+@SpringBootTest(classes = EndpointStatementCountTests.TestApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:access;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;IGNORE_UNKNOWN_SETTINGS=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "management.server.port=",
+        "application.security.jwt.secret-key=dGFza2Fzc2lzdC1zdGF0ZW1lbnQtY291bnQtdGVzdC1rZXkh",
+        "application.security.password.bcrypt.strength=4",
+        "application.security.rate-limit.enabled=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AccessControlTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamGraph teamGraph;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private User owner;
+    private User teammate;
+    private User outsider;
+    private User admin;
+    private Team team;
+
+    @BeforeAll
+    void seed() {
+        owner = userRepository.save(user("owner", "USER"));
+        teammate = userRepository.save(user("teammate", "USER"));
+        outsider = userRepository.save(user("outsider", "USER"));
+        admin = userRepository.save(user("admin", "ADMIN"));
+        team = teamRepository.save(Team.builder().userId1(owner.getId()).userId2(teammate.getId()).build());
+        teamGraph.reload();
+    }
+
+    @Test
+    void privateTask() throws Exception {
+        Task task = task(null);
+        String url = "/api/tasks/" + task.getId();
+
+        assertStatus(owner, get(url), 200);
+        assertStatus(admin, get(url), 200);
+        assertStatus(teammate, get(url), 404);
+        assertStatus(outsider, get(url), 404);
+
+        assertStatus(teammate, rename(url), 404);
+        assertStatus(outsider, rename(url), 404);
+        assertStatus(owner, rename(url), 200);
+        assertStatus(admin, rename(url), 200);
+
+        assertStatus(teammate, delete(url), 404);
+        assertStatus(outsider, delete(url), 404);
+        assertStatus(owner, delete(url), 204);
+        assertStatus(admin, delete("/api/tasks/" + task(null).getId()), 204);
+    }
+
+    @Test
+    void teamTask() throws Exception {
+        Task task = task(team);
+        String url = "/api/tasks/" + task.getId();
+
+        assertStatus(teammate, get(url), 200);
+        assertStatus(outsider, get(url), 404);
+
+        assertStatus(outsider, rename(url), 404);
+        assertStatus(teammate, rename(url), 200);
+
+        assertStatus(outsider, delete(url), 404);
+        assertStatus(teammate, delete(url), 204);
+    }
+
+    @Test
+    void privateProject() throws Exception {
+        String url = "/api/projects/" + project(false).getId();
+
+        assertStatus(owner, get(url), 200);
+        assertStatus(admin, get(url), 200);
+        assertStatus(teammate, get(url), 404);
+        assertStatus(outsider, get(url), 404);
+
+        assertStatus(teammate, rename(url), 404);
+        assertStatus(outsider, rename(url), 404);
+        assertStatus(owner, rename(url), 200);
+        assertStatus(admin, rename(url), 200);
+
+        assertStatus(teammate, delete(url), 404);
+        assertStatus(outsider, delete(url), 404);
+        assertStatus(owner, delete(url), 204);
+        assertStatus(admin, delete("/api/projects/" + project(false).getId()), 204);
+    }
+
+    @Test
+    void sharedProject() throws Exception {
+        String url = "/api/projects/" + project(true).getId();
+
+        // Sharing makes a project visible to the team, not writable by it
+        assertStatus(teammate, get(url), 200);
+        assertStatus(outsider, get(url), 404);
+        assertStatus(teammate, rename(url), 404);
+        assertStatus(teammate, delete(url), 404);
+        assertStatus(outsider, delete(url), 404);
+    }
+
+    @Test
+    void summaryByUser() throws Exception {
+        // Own users, so the tasks the other cases create do not change the counts
+        User lead = userRepository.save(user("lead", "USER"));
+        User member = userRepository.save(user("member", "USER"));
+        Team pair = teamRepository.save(Team.builder().userId1(lead.getId()).userId2(member.getId()).build());
+        teamGraph.reload();
+        taskRepository.save(newTask(lead, null));
+        taskRepository.save(newTask(lead, null));
+        taskRepository.save(newTask(lead, pair));
+        String url = "/api/tasks/summary?userId=" + lead.getId();
+
+        assertThat(summaryTotal(lead, url)).isEqualTo(3);
+        assertThat(summaryTotal(admin, url)).isEqualTo(3);
+        // A teammate's summary counts only what the teammate could list: the team task
+        assertThat(summaryTotal(member, url)).isEqualTo(1);
+        assertStatus(outsider, get(url), 403);
+    }
+
+    private int summaryTotal(User caller, String url) throws Exception {
+        MvcResult result = assertStatus(caller, get(url), 200);
+        return JsonPath.read(result.getResponse().getContentAsString(), "$.total");
+    }
+
+    private MvcResult assertStatus(User caller, MockHttpServletRequestBuilder request, int status) throws Exception {
+        MvcResult result = mockMvc.perform(request
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateTokenForUser(caller))).andReturn();
+        String call = caller.getUsername() + " " + result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+        assertThat(result.getResponse().getStatus()).as(call).isEqualTo(status);
+        return result;
+    }
+
+    private static MockHttpServletRequestBuilder rename(String url) {
+        return patch(url).contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Renamed\",\"title\":\"Renamed\"}");
+    }
+
+    private Task task(Team team) {
+        return taskRepository.save(newTask(owner, team));
+    }
+
+    private Project project(boolean shared) {
+        return projectRepository.save(Project.builder()
+                .name(shared ? "Shared" : "Private")
+                .color("#336699")
+                .userId(owner.getId())
+                .teamId(team.getId())
+                .isPublic(shared)
+                .build());
+    }
+
+    private static Task newTask(User owner, Team team) {
+        return Task.builder()
+                .title("Task of " + owner.getUsername())
+                .completed(false)
+                .starred(false)
+                .priority("medium")
+                .dueDate(LocalDateTime.now().plusDays(1))
+                .userId(owner.getId())
+                .teamId(team == null ? null : team.getId())
+                .build();
+    }
+
+    private static User user(String username, String role) {
+        return User.builder()
+                .username(username)
+                .password("{noop}unused")
+                .email(username + "@example.com")
+                .firstName(username)
+                .lastName("Tester")
+                .role(role)
+                .isActive(true)
+                .build();
+    }
+}
@@ -0,0 +1,279 @@
+package com.taskassist.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.taskassist.config.SqlBudgetFilter;
+import com.taskassist.model.Project;
+import com.taskassist.model.Task;
+import com.taskassist.model.Team;
+import com.taskassist.model.User;
+import com.taskassist.repository.ProjectRepository;
+import com.taskassist.repository.TaskRepository;
+import com.taskassist.repository.TeamRepository;
+import com.taskassist.repository.UserRepository;
+import com.taskassist.security.JwtService;
+import com.taskassist.service.TeamGraph;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Pins the number of SQL statements each endpoint issues (X-SQL-Count, see SqlBudgetFilter)
+ * against an in-memory H2 in PostgreSQL mode, with enough rows that a per-row lazy load
+ * shows up as a higher count. The budget runs in "fail" mode, so an N+1 also fails the
+ * request outright. Streaming endpoints are left out: their statements run on another thread.
+ */
+@SpringBootTest(classes = EndpointStatementCountTests.TestApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:statements;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;IGNORE_UNKNOWN_SETTINGS=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "management.server.port=",
+        "application.security.jwt.secret-key=dGFza2Fzc2lzdC1zdGF0ZW1lbnQtY291bnQtdGVzdC1rZXkh",
+        "application.security.password.bcrypt.strength=4",
+        "application.security.rate-limit.enabled=false",
+        "application.sql.budget.mode=fail",
+        "application.sql.budget.header=true"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EndpointStatementCountTests {
+
+    // More rows than any expected count, so a per-row statement cannot hide under the limit
+    private static final int TASKS = 30;
+
+    // The app class only scans its own package, so the harness scans the whole tree itself
+    @SpringBootApplication(scanBasePackages = "com.taskassist")
+    @EntityScan("com.taskassist.model")
+    @EnableJpaRepositories("com.taskassist.repository")
+    static class TestApplication {
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamGraph teamGraph;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User alice;
+    private User bob;
+    private Team team;
+    private Project project;
+    private Task task;
+    private String token;
+
+    // Stand-in for pg_trgm's similarity(), used to rank user search results
+    public static double similarity(String a, String b) {
+        return a == null || b == null ? 0 : a.equals(b) ? 1 : a.contains(b) || b.contains(a) ? 0.5 : 0;
+    }
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS similarity FOR '"
+                + EndpointStatementCountTests.class.getName() + ".similarity'");
+
+        alice = userRepository.save(user("alice"));
+        bob = userRepository.save(user("bob"));
+        team = teamRepository.save(Team.builder().userId1(alice.getId()).userId2(bob.getId()).build());
+        teamGraph.reload();
+
+        project = projectRepository.save(project(alice, team));
+        projectRepository.save(project(bob, team));
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            Task seeded = newTask("Task " + i);
+            // Spread owners and assignees so expanded views need both users
+            seeded.setUserId(i % 2 == 0 ? alice.getId() : bob.getId());
+            seeded.setAssignedTo(i % 3 == 0 ? bob.getId() : alice.getId());
+            seeded.setAssignedBy(alice.getId());
+            seeded.setTeamId(team.getId());
+            tasks.add(seeded);
+        }
+        task = taskRepository.saveAll(tasks).get(0);
+        token = jwtService.generateTokenForUser(alice);
+    }
+
+    @Test
+    void authEndpoints() throws Exception {
+        assertStatements(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"carol\",\"password\":\"password\",\"email\":\"carol@example.com\"}"), 4);
+        assertStatements(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"alice\",\"password\":\"password\"}"), 1);
+        assertStatements(get("/api/auth/me"), 1);
+    }
+
+    @Test
+    void taskReads() throws Exception {
+        assertStatements(get("/api/tasks"), 1);
+        assertStatements(get("/api/tasks").param("expand", "project,assignee,assigner"), 3);
+        assertStatements(get("/api/tasks").param("filter", "completed").param("limit", "10"), 1);
+        assertStatements(get("/api/tasks").param("userId", alice.getId().toString()), 1);
+        assertStatements(get("/api/tasks/" + task.getId()), 1);
+        assertStatements(get("/api/tasks/user/" + alice.getId()).param("expand", "project,assignee"), 3);
+        assertStatements(get("/api/tasks/assigned/" + bob.getId()).param("expand", "assigner"), 2);
+        assertStatements(get("/api/tasks/summary"), 1);
+        assertStatements(get("/api/tasks/summary").param("teamId", team.getId().toString()), 1);
+        assertStatements(get("/api/tasks/calendar").param("from", LocalDate.now().toString())
+                .param("to", LocalDate.now().plusDays(TASKS).toString()), 1);
+        // Not pinned: /calendar.ics and /export stream their body from an async thread, which
+        // SqlStatementCounter (a per-thread count) does not see, so any number would pass
+        assertStatements(get("/api/sync"), 2);
+    }
+
+    @Test
+    void taskWrites() throws Exception {
+        Task created = taskRepository.save(newTask("Write target"));
+
+        assertStatements(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"New\",\"completed\":false,\"userId\":" + alice.getId() + "}"), 1);
+        assertStatements(patch("/api/tasks/" + created.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Renamed\"}"), 2);
+        assertStatements(post("/api/tasks/bulk").contentType(MediaType.APPLICATION_JSON)
+                .content(bulkCreate(TASKS)), 2);
+        assertStatements(patch("/api/tasks/bulk").contentType(MediaType.APPLICATION_JSON)
+                .content("[" + taskIds(",", "{\"id\":%d,\"priority\":\"high\"}") + "]"), 2);
+        assertStatements(post("/api/tasks/bulk/complete").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + taskIds(",", "%d") + "],\"completed\":true}"), 3);
+        assertStatements(post("/api/tasks/bulk/delete").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + created.getId() + "]}"), 4);
+        Task deleted = taskRepository.save(newTask("Delete target"));
+        assertStatements(delete("/api/tasks/" + deleted.getId()), 3);
+    }
+
+    @Test
+    void projectEndpoints() throws Exception {
+        assertStatements(get("/api/projects"), 1);
+        assertStatements(get("/api/projects/" + project.getId()), 1);
+        assertStatements(get("/api/projects/user/" + alice.getId()), 1);
+        assertStatements(get("/api/projects/accessible/" + alice.getId()), 0);
+
+        assertStatements(post("/api/projects").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Created\",\"color\":\"#000000\",\"userId\":" + alice.getId() + "}"), 1);
+        Project target = projectRepository.save(project(alice, null));
+        assertStatements(patch("/api/projects/" + target.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Renamed\"}"), 2);
+        assertStatements(delete("/api/projects/" + target.getId()), 4);
+    }
+
+    @Test
+    void teamAndUserEndpoints() throws Exception {
+        User dave = userRepository.save(user("dave"));
+
+        assertStatements(get("/api/team-members/" + alice.getId()), 1);
+        MvcResult created = assertStatements(post("/api/team-members").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId1\":" + alice.getId() + ",\"userId2\":" + dave.getId() + "}"), 5);
+        Integer teamId = JsonPath.read(created.getResponse().getContentAsString(), "$.id");
+        assertStatements(delete("/api/team-members/" + teamId), 3);
+        assertStatements(get("/api/users/search").param("q", "ali"), 1);
+    }
+
+    private MvcResult assertStatements(MockHttpServletRequestBuilder request, int max) throws Exception {
+        MvcResult result = mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)).andReturn();
+        String uri = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+        assertThat(result.getResponse().getStatus()).as(uri + " status").isBetween(200, 299);
+        String count = result.getResponse().getHeader(SqlBudgetFilter.SQL_COUNT_HEADER);
+        assertThat(count).as(uri + " " + SqlBudgetFilter.SQL_COUNT_HEADER).isNotNull();
+        assertThat(Integer.parseInt(count)).as(uri + " SQL statements").isLessThanOrEqualTo(max);
+        return result;
+    }
+
+    private User user(String username) {
+        return User.builder()
+                .username(username)
+                .password(passwordEncoder.encode("password"))
+                .email(username + "@example.com")
+                .firstName(username)
+                .lastName("Tester")
+                .profileImageUrl("https://example.com/" + username + ".png")
+                .role("USER")
+                .isActive(true)
+                .build();
+    }
+
+    private Project project(User owner, Team team) {
+        return Project.builder()
+                .name(owner.getUsername() + " project")
+                .color("#336699")
+                .userId(owner.getId())
+                .teamId(team == null ? null : team.getId())
+                .isPublic(false)
+                .build();
+    }
+
+    private Task newTask(String title) {
+        return Task.builder()
+                .title(title)
+                .completed(false)
+                .starred(false)
+                .priority("medium")
+                .projectId(project == null ? null : project.getId())
+                .dueDate(LocalDateTime.now().plusDays(title.length() % 7))
+                .userId(alice.getId())
+                .build();
+    }
+
+    private String bulkCreate(int count) {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"title\":\"Bulk ").append(i)
+                    .append("\",\"completed\":false,\"userId\":").append(alice.getId()).append('}');
+        }
+        return body.append(']').toString();
+    }
+
+    // Seeded tasks owned by alice, formatted with the given pattern
+    private String taskIds(String separator, String pattern) {
+        return taskRepository.findAll().stream()
+                .filter(seeded -> alice.getId().equals(seeded.getUserId()))
+                .map(seeded -> pattern.formatted(seeded.getId()))
+                .reduce((a, b) -> a + separator + b)
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,93 @@
+package com.taskassist.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.taskassist.model.Task;
+import com.taskassist.model.User;
+import com.taskassist.repository.TaskRepository;
+import com.taskassist.repository.UserRepository;
+import com.taskassist.security.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A CSV export fed straight back into the import must recreate the same text, including
+ * cells the export prefixed with an apostrophe so spreadsheets do not run them as formulas.
+ */
+@SpringBootTest(classes = EndpointStatementCountTests.TestApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:roundtrip;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;IGNORE_UNKNOWN_SETTINGS=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "management.server.port=",
+        "application.security.jwt.secret-key=dGFza2Fzc2lzdC1zdGF0ZW1lbnQtY291bnQtdGVzdC1rZXkh",
+        "application.security.password.bcrypt.strength=4",
+        "application.security.rate-limit.enabled=false"
+})
+@AutoConfigureMockMvc
+public class TaskCsvRoundTripTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    void exportedCsvImportsBackUnchanged() throws Exception {
+        User owner = userRepository.save(User.builder()
+                .username("roundtrip")
+                .password("{noop}unused")
+                .email("roundtrip@example.com")
+                .firstName("Round")
+                .lastName("Trip")
+                .role("USER")
+                .isActive(true)
+                .build());
+        String token = "Bearer " + jwtService.generateTokenForUser(owner);
+        List<String> titles = List.of("-fix login", "=SUM(A1:A2)", "'+already quoted", "plain, with \"quotes\"");
+        for (String title : titles) {
+            taskRepository.save(Task.builder().title(title).description("@mention").completed(false).starred(false)
+                    .priority("medium").userId(owner.getId()).build());
+        }
+
+        MvcResult export = mockMvc.perform(get("/api/tasks/export").param("format", "csv")
+                .header(HttpHeaders.AUTHORIZATION, token)).andReturn();
+        String csv = mockMvc.perform(asyncDispatch(export)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(csv).contains("'-fix login", "'=SUM(A1:A2)", "''+already quoted");
+
+        MvcResult imported = mockMvc.perform(post("/api/tasks/import").contentType("text/csv").content(csv)
+                .header(HttpHeaders.AUTHORIZATION, token)).andExpect(status().isOk()).andReturn();
+        assertThat((Integer) JsonPath.read(imported.getResponse().getContentAsString(), "$.imported"))
+                .isEqualTo(titles.size());
+
+        // Every original now exists twice: the seeded row and its re-imported copy
+        List<Task> tasks = taskRepository.findByUserId(owner.getId());
+        List<String> expected = new ArrayList<>(titles);
+        expected.addAll(titles);
+        assertThat(tasks.stream().map(Task::getTitle).toList()).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(tasks.stream().map(Task::getDescription).toList()).containsOnly("@mention");
+    }
+}
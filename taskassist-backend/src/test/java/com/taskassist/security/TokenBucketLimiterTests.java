@@ -0,0 +1,89 @@
+package com.taskassist.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The GCRA arithmetic and shard eviction of TokenBucketLimiter, on a hand-driven clock.
+ */
+public class TokenBucketLimiterTests {
+
+    // 60 tokens per minute: one every second
+    private static final long INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    void burstAllowsExactlyCapacity() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, 60, 1000, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("ip")).as("request " + (i + 1)).isZero();
+        }
+        assertThat(limiter.tryAcquire("ip")).isPositive();
+        assertThat(limiter.getAllowed()).isEqualTo(5);
+        assertThat(limiter.getRejected()).isEqualTo(1);
+        // Buckets are per key
+        assertThat(limiter.tryAcquire("other-ip")).isZero();
+    }
+
+    @Test
+    void waitMatchesRefillInterval() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 60, 1000, clock::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("ip");
+        }
+
+        assertThat(limiter.tryAcquire("ip")).isEqualTo(INTERVAL);
+        clock.addAndGet(INTERVAL / 4);
+        assertThat(limiter.tryAcquire("ip")).isEqualTo(INTERVAL * 3 / 4);
+
+        // Waiting exactly as long as told yields one token, and only one
+        clock.addAndGet(INTERVAL * 3 / 4);
+        assertThat(limiter.tryAcquire("ip")).isZero();
+        assertThat(limiter.tryAcquire("ip")).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void fullShardEvictsIdleBucketsFirst() {
+        // Two buckets per shard, and three keys that land in the same shard
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 60, 2 * TokenBucketLimiter.SHARDS, clock::get);
+        List<String> keys = sameShardKeys(3);
+        String idle = keys.get(0);
+        String busy = keys.get(1);
+        String newcomer = keys.get(2);
+
+        limiter.tryAcquire(idle);
+        limiter.tryAcquire(busy);
+        limiter.tryAcquire(busy);
+        // 1.5 intervals later the idle key has refilled completely; the busy one is still half a token short
+        clock.addAndGet(INTERVAL * 3 / 2);
+
+        assertThat(limiter.tryAcquire(newcomer)).isZero();
+        assertThat(limiter.getEvictions()).isEqualTo(1);
+        assertThat(limiter.size()).isEqualTo(2);
+        // The busy bucket survived: one token has refilled, the next is half an interval away
+        assertThat(limiter.tryAcquire(busy)).isZero();
+        assertThat(limiter.tryAcquire(busy)).isEqualTo(INTERVAL / 2);
+        // The newcomer kept the token it took while the shard was swept
+        assertThat(limiter.tryAcquire(newcomer)).isZero();
+        assertThat(limiter.tryAcquire(newcomer)).isPositive();
+    }
+
+    private static List<String> sameShardKeys(int count) {
+        List<String> keys = new ArrayList<>();
+        int shard = TokenBucketLimiter.shardOf("key-0");
+        for (int i = 0; keys.size() < count; i++) {
+            if (TokenBucketLimiter.shardOf("key-" + i) == shard) {
+                keys.add("key-" + i);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,145 @@
+package com.taskassist.benchmark;
+
+import com.taskassist.model.Project;
+import com.taskassist.model.Task;
+import com.taskassist.model.Team;
+import com.taskassist.model.User;
+import com.taskassist.repository.ProjectRepository;
+import com.taskassist.repository.TaskRepository;
+import com.taskassist.repository.TeamRepository;
+import com.taskassist.repository.UserRepository;
+import com.taskassist.service.TeamGraph;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The back-end's Spring context on an in-memory H2 database (PostgreSQL mode) instead of
+ * Postgres, seeded with two teammates, their projects and a fixed, deterministic set of
+ * tasks, so repository-backed benchmarks are reproducible without a database server.
+ * H2 is not Postgres: compare numbers between releases, not with production latency.
+ */
+public final class InMemoryBackend implements AutoCloseable {
+
+    static final String SECRET = JwtServiceBenchmark.SECRET;
+
+    private final ConfigurableApplicationContext context;
+    private User alice;
+
+    // The app class only scans its own package, so scan the whole tree here
+    @SpringBootApplication(scanBasePackages = "com.taskassist")
+    @EntityScan("com.taskassist.model")
+    @EnableJpaRepositories("com.taskassist.repository")
+    static class BenchmarkApplication {
+    }
+
+    private InMemoryBackend(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    // Extra properties are "key=value" pairs applied over the benchmark defaults
+    public static InMemoryBackend start(String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;IGNORE_UNKNOWN_SETTINGS=TRUE",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.properties.hibernate.generate_statistics=false",
+                "spring.sql.init.mode=never",
+                "application.security.jwt.secret-key=" + SECRET,
+                "application.security.password.bcrypt.strength=4",
+                "application.sql.budget.mode=off",
+                "logging.level.root=WARN",
+                "logging.level.com.taskassist=WARN"));
+        all.addAll(List.of(properties));
+        // As command-line arguments, so they win over the back-end's application.properties
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(all.stream().map(property -> "--" + property).toArray(String[]::new));
+        return new InMemoryBackend(context);
+    }
+
+    /**
+     * Two teammates with a project each and {@code tasks} tasks spread over them: every
+     * third completed, every fifth starred, owners and assignees alternating.
+     */
+    public InMemoryBackend seed(int tasks) {
+        UserRepository users = bean(UserRepository.class);
+        alice = users.save(user("alice"));
+        User bob = users.save(user("bob"));
+        Team team = bean(TeamRepository.class).save(Team.builder().userId1(alice.getId()).userId2(bob.getId()).build());
+        bean(TeamGraph.class).reload();
+
+        ProjectRepository projects = bean(ProjectRepository.class);
+        Project aliceProject = projects.save(project(alice, team));
+        Project bobProject = projects.save(project(bob, team));
+
+        LocalDateTime due = LocalDateTime.of(2025, 1, 1, 9, 0);
+        List<Task> batch = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            boolean mine = i % 2 == 0;
+            batch.add(Task.builder()
+                    .title("Task " + i)
+                    .description("Benchmark task number " + i)
+                    .completed(i % 3 == 0)
+                    .starred(i % 5 == 0)
+                    .priority(i % 3 == 0 ? "high" : "medium")
+                    .dueDate(due.plusHours(i))
+                    .userId(mine ? alice.getId() : bob.getId())
+                    .projectId(mine ? aliceProject.getId() : bobProject.getId())
+                    .assignedTo(mine ? bob.getId() : alice.getId())
+                    .assignedBy(mine ? alice.getId() : bob.getId())
+                    .teamId(team.getId())
+                    .build());
+            if (batch.size() == 1000) {
+                bean(TaskRepository.class).saveAll(batch);
+                batch.clear();
+            }
+        }
+        bean(TaskRepository.class).saveAll(batch);
+        return this;
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public User alice() {
+        return alice;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private User user(String username) {
+        return User.builder()
+                .username(username)
+                .password("{noop}unused")
+                .email(username + "@example.com")
+                .firstName(username)
+                .lastName("Benchmark")
+                .role("USER")
+                .isActive(true)
+                .build();
+    }
+
+    private static Project project(User owner, Team team) {
+        return Project.builder()
+                .name(owner.getUsername() + " project")
+                .color("#336699")
+                .userId(owner.getId())
+                .teamId(team.getId())
+                .isPublic(false)
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.taskassist.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskassist.dto.ProjectView;
+import com.taskassist.dto.TaskView;
+import com.taskassist.model.Project;
+import com.taskassist.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response-body serialization of task and project lists with an ObjectMapper configured
+ * the way Spring Boot configures the application's (ISO dates, JSR-310 module). The view
+ * records are what the endpoints return; the entity benchmarks show what they used to cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"50", "500"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Task> tasks;
+    private List<TaskView> taskViews;
+    private List<Project> projects;
+    private List<ProjectView> projectViews;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime created = LocalDateTime.of(2025, 1, 1, 9, 0);
+        tasks = new ArrayList<>(size);
+        projects = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            tasks.add(Task.builder()
+                    .id(i)
+                    .title("Task " + i)
+                    .description("Benchmark task number " + i)
+                    .completed(i % 3 == 0)
+                    .starred(i % 5 == 0)
+                    .priority("medium")
+                    .dueDate(created.plusDays(i))
+                    .userId(1)
+                    .projectId(1 + i % 10)
+                    .assignedTo(2)
+                    .assignedBy(1)
+                    .teamId(1)
+                    .createdAt(created)
+                    .updatedAt(created.plusHours(i))
+                    .version(1L)
+                    .build());
+            projects.add(Project.builder()
+                    .id(i)
+                    .name("Project " + i)
+                    .color("#336699")
+                    .userId(1)
+                    .teamId(1)
+                    .isPublic(false)
+                    .createdAt(created)
+                    .updatedAt(created)
+                    .version(1L)
+                    .build());
+        }
+        taskViews = tasks.stream().map(TaskView::from).toList();
+        projectViews = projects.stream().map(ProjectView::from).toList();
+    }
+
+    @Benchmark
+    public byte[] taskViews() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(taskViews);
+    }
+
+    @Benchmark
+    public byte[] taskEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] projectViews() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(projectViews);
+    }
+
+    @Benchmark
+    public byte[] projectEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(projects);
+    }
+}
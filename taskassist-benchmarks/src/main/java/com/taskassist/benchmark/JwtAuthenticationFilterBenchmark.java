@@ -0,0 +1,89 @@
+package com.taskassist.benchmark;
+
+import com.taskassist.security.JwtAuthenticationFilter;
+import com.taskassist.security.JwtService;
+import com.taskassist.security.TokenPrincipalCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One bearer-token request through JwtAuthenticationFilter, from header to populated
+ * SecurityContext. "database" mode is measured with the token's principal cached (every
+ * request after the first) and uncached (first request per token: verify, revocation check
+ * and user load from the in-memory back-end); "claims" mode never touches the cache or DB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"database", "claims"})
+    public String principalMode;
+
+    private InMemoryBackend backend;
+    private JwtAuthenticationFilter filter;
+    private TokenPrincipalCache tokenPrincipalCache;
+    private String token;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        backend = InMemoryBackend.start("application.security.jwt.principal-mode=" + principalMode).seed(0);
+        filter = backend.bean(JwtAuthenticationFilter.class);
+        tokenPrincipalCache = backend.bean(TokenPrincipalCache.class);
+        token = backend.bean(JwtService.class).generateTokenForUser(backend.alice());
+
+        request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        backend.close();
+    }
+
+    @Benchmark
+    public Authentication cached() throws ServletException, IOException {
+        return authenticate();
+    }
+
+    @Benchmark
+    public Authentication uncached() throws ServletException, IOException {
+        tokenPrincipalCache.invalidate(token);
+        return authenticate();
+    }
+
+    private Authentication authenticate() throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, response, chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,95 @@
+package com.taskassist.benchmark;
+
+import com.taskassist.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sign/verify cost of JwtService. The "legacy" benchmarks reproduce the old
+ * per-call key decoding and parser building so the two can be compared in one run;
+ * use {@code -prof gc} to see the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    static final String SECRET = "dGFza2Fzc2lzdC1iZW5jaG1hcmstc2VjcmV0LWtleS0wMTIzNDU2Nzg5";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = newJwtService();
+        token = jwtService.generateTokenFromUserId(42);
+    }
+
+    static JwtService newJwtService() {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(service, "keyId", "primary");
+        ReflectionTestUtils.setField(service, "verificationKeys", "");
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateTokenFromUserId(42);
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return jwtService.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public Claims verifyLegacy() {
+        return legacyParse(token);
+    }
+
+    // Subject, expiration and the full claims read from a single parse
+    @Benchmark
+    public Object validate() {
+        Claims claims = jwtService.extractAllClaims(token);
+        return claims.getExpiration().after(new Date()) ? claims.get("id", Integer.class) : null;
+    }
+
+    // Old isTokenValid path: one full parse per claim read
+    @Benchmark
+    public Object validateLegacy() {
+        legacyParse(token).getSubject();
+        Date expiration = legacyParse(token).getExpiration();
+        return expiration.after(new Date()) ? legacyParse(token).get("id", Integer.class) : null;
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts
+                .parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
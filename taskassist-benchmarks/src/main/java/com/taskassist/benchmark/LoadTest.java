@@ -0,0 +1,155 @@
+package com.taskassist.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load test against a running back-end: N clients (virtual threads, so the
+ * client side is never the bottleneck) each send the next request as soon as the previous
+ * one returns, for a fixed duration after a warm-up. Prints throughput and latency
+ * percentiles. To compare request-handling modes, run it once against a server started with
+ * VIRTUAL_THREADS=true and once with VIRTUAL_THREADS=false, same data and same arguments:
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.taskassist.benchmark.LoadTest \
+ *     --url=http://localhost:8080 --username=alice --password=secret \
+ *     --path=/api/tasks?limit=50 --concurrency=1000 --duration=60 --warmup=15 --label=virtual
+ * </pre>
+ *
+ * Use a concurrency well above Tomcat's 200 platform threads, otherwise both modes queue the
+ * same way and the comparison shows nothing.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("url", "http://localhost:8080");
+        String path = options.getOrDefault("path", "/api/tasks?limit=50");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "500"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        String label = options.getOrDefault("label", "run");
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String token = options.containsKey("token") ? options.get("token")
+                : login(client, baseUrl, options.get("username"), options.get("password"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        long warmupEnd = System.nanoTime() + Duration.ofSeconds(warmupSeconds).toNanos();
+        long end = warmupEnd + Duration.ofSeconds(durationSeconds).toNanos();
+        LongAdder errors = new LongAdder();
+        LongAdder rejected = new LongAdder();
+
+        List<Future<long[]>> workers = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> run(client, request, warmupEnd, end, errors, rejected)));
+            }
+        }
+
+        // Each worker returns its own latencies (nanos), so recording needs no shared state
+        int count = 0;
+        for (Future<long[]> worker : workers) {
+            count += worker.get().length;
+        }
+        long[] latencies = new long[count];
+        int offset = 0;
+        for (Future<long[]> worker : workers) {
+            long[] part = worker.get();
+            System.arraycopy(part, 0, latencies, offset, part.length);
+            offset += part.length;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("%s: %d clients, %ds on %s%n", label, concurrency, durationSeconds, path);
+        System.out.printf("  requests   %d (%d errors, %d rejected with 503)%n", count, errors.sum(), rejected.sum());
+        System.out.printf("  throughput %.1f req/s%n", (double) count / durationSeconds);
+        System.out.printf("  latency    p50 %.1f ms  p90 %.1f ms  p99 %.1f ms  max %.1f ms%n",
+                millis(latencies, 0.50), millis(latencies, 0.90), millis(latencies, 0.99), millis(latencies, 1.0));
+    }
+
+    private static long[] run(HttpClient client, HttpRequest request, long warmupEnd, long end,
+                              LongAdder errors, LongAdder rejected) {
+        long[] latencies = new long[1024];
+        int size = 0;
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (Exception e) {
+                status = -1;
+            }
+            long finished = System.nanoTime();
+            if (now < warmupEnd) {
+                continue;
+            }
+            if (status == 503) {
+                rejected.increment();
+            } else if (status < 200 || status >= 300) {
+                errors.increment();
+            }
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = finished - now;
+        }
+        return Arrays.copyOf(latencies, size);
+    }
+
+    private static String login(HttpClient client, String baseUrl, String username, String password) throws Exception {
+        if (username == null || password == null) {
+            throw new IllegalArgumentException("Pass --token, or --username and --password");
+        }
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        Matcher token = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"").matcher(response.body());
+        if (response.statusCode() != 200 || !token.find()) {
+            throw new IllegalStateException("Login failed with " + response.statusCode() + ": " + response.body());
+        }
+        return token.group(1);
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int split = arg.indexOf('=');
+                options.put(arg.substring(2, split), arg.substring(split + 1));
+            }
+        }
+        return options;
+    }
+}
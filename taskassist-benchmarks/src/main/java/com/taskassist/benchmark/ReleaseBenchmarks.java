@@ -0,0 +1,43 @@
+package com.taskassist.benchmark;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every benchmark in this module the same way each time, for numbers that can be
+ * tracked across releases: throughput in ops/s plus the GC profiler's allocation rate
+ * (gc.alloc.rate.norm, bytes per op), on a fixed heap and collector, written as JSON to
+ * jmh-&lt;label&gt;.json. Compare runs from the same machine only.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.taskassist.benchmark.ReleaseBenchmarks 1.4.0 [include regex]
+ * </pre>
+ *
+ * For a single benchmark with its own settings use JMH directly, e.g.
+ * {@code java -jar target/benchmarks.jar TaskServiceBenchmark -prof gc}.
+ */
+public class ReleaseBenchmarks {
+
+    public static void main(String[] args) throws RunnerException {
+        String label = args.length > 0 ? args[0] : "snapshot";
+        String include = args.length > 1 ? args[1] : "com\\.taskassist\\.benchmark\\..*Benchmark";
+        Options options = new OptionsBuilder()
+                .include(include)
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS)
+                .forks(2)
+                .jvmArgsAppend("-Xms2g", "-Xmx2g", "-XX:+UseG1GC", "-XX:+AlwaysPreTouch")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-" + label + ".json")
+                .build();
+        new Runner(options).run();
+    }
+}
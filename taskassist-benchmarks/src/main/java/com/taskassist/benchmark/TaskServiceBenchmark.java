@@ -0,0 +1,79 @@
+package com.taskassist.benchmark;
+
+import com.taskassist.dto.TaskView;
+import com.taskassist.model.User;
+import com.taskassist.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskService.getTasksByFilter end to end: access scope from the security context, the
+ * scoped keyset-paged JPQL query and the TaskView projection, against the in-memory
+ * back-end. "all" is an unfiltered page; the others add a predicate on the visible rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    @Param({"all", "completed", "starred"})
+    public String filter;
+
+    @Param({"50", "500"})
+    public int limit;
+
+    @Param({"10000"})
+    public int tasks;
+
+    private InMemoryBackend backend;
+    private TaskService taskService;
+    private String filterArgument;
+
+    @Setup
+    public void setUp() {
+        backend = InMemoryBackend.start().seed(tasks);
+        taskService = backend.bean(TaskService.class);
+        filterArgument = "all".equals(filter) ? null : filter;
+
+        // Global, so the benchmark threads see the context set up here
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        User alice = backend.alice();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(alice, null, alice.getAuthorities()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        backend.close();
+    }
+
+    @Benchmark
+    public List<TaskView> firstPage() {
+        return taskService.getTasksByFilter(filterArgument, null, limit);
+    }
+
+    // Keyset paging: a page from the middle costs the same as the first
+    @Benchmark
+    public List<TaskView> middlePage() {
+        return taskService.getTasksByFilter(filterArgument, tasks / 2, limit);
+    }
+}